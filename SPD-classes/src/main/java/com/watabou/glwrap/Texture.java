@@ -102,6 +102,29 @@ public class Texture {
 		
 		premultiplied = true;
 	}
+
+	//re-uploads only rows top (inclusive) to bottom (exclusive) of an RGBA8888 pixmap that's already been uploaded.
+	//Whole rows are used as GLES2 can't skip over part of a row in client memory.
+	public void bitmap( Pixmap pixmap, int top, int bottom ) {
+		bind();
+
+		ByteBuffer pixels = pixmap.getPixels();
+		((Buffer)pixels).position( top * pixmap.getWidth() * 4 );
+
+		Gdx.gl.glTexSubImage2D(
+				Gdx.gl.GL_TEXTURE_2D,
+				0,
+				0,
+				top,
+				pixmap.getWidth(),
+				bottom - top,
+				pixmap.getGLFormat(),
+				pixmap.getGLType(),
+				pixels
+		);
+
+		((Buffer)pixels).position( 0 );
+	}
 	
 	public void pixels( int w, int h, int[] pixels ) {
 	
@@ -34,7 +34,12 @@ public class Vertexbuffer {
 
 	private int id;
 	private FloatBuffer vertices;
-	private int updateStart, updateEnd;
+
+	//ranges waiting to be uploaded, as sorted start,end pairs which never touch each other.
+	//Past MAX_RANGES they collapse into a single range covering all of them.
+	private static final int MAX_RANGES = 32;
+	private int[] ranges = new int[MAX_RANGES*2];
+	private int rangeCount;
 
 	private static final ArrayList<Vertexbuffer> buffers = new ArrayList<>();
 
@@ -45,8 +50,9 @@ public class Vertexbuffer {
 			this.vertices = vertices;
 			buffers.add(this);
 
-			updateStart = 0;
-			updateEnd = vertices.limit();
+			ranges[0] = 0;
+			ranges[1] = vertices.limit();
+			rangeCount = 1;
 		}
 	}
 
@@ -64,31 +70,49 @@ public class Vertexbuffer {
 	public void updateVertices( FloatBuffer vertices, int start, int end){
 		this.vertices = vertices;
 
-		if (updateStart == -1)
-			updateStart = start;
-		else
-			updateStart = Math.min(start, updateStart);
+		//skips ranges which end before this one
+		int first = 0;
+		while (first < rangeCount && ranges[first*2+1] < start) first++;
+
+		//then merges with every range this one touches
+		int last = first;
+		while (last < rangeCount && ranges[last*2] <= end){
+			start = Math.min(start, ranges[last*2]);
+			end = Math.max(end, ranges[last*2+1]);
+			last++;
+		}
+
+		if (first == last && rangeCount == MAX_RANGES){
+			ranges[0] = Math.min(start, ranges[0]);
+			ranges[1] = Math.max(end, ranges[rangeCount*2-1]);
+			rangeCount = 1;
+			return;
+		}
 
-		if (updateEnd == -1)
-			updateEnd = end;
-		else
-			updateEnd = Math.max(end, updateEnd);
+		//replaces the merged ranges with the new one
+		System.arraycopy(ranges, last*2, ranges, first*2+2, (rangeCount-last)*2);
+		rangeCount += 1 - (last - first);
+		ranges[first*2] = start;
+		ranges[first*2+1] = end;
 	}
 
 	public void updateGLData(){
-		if (updateStart == -1) return;
+		if (rangeCount == 0) return;
 
-		((Buffer)vertices).position(updateStart);
 		bind();
 
-		if (updateStart == 0 && updateEnd == vertices.limit()){
+		if (rangeCount == 1 && ranges[0] == 0 && ranges[1] == vertices.limit()){
+			((Buffer)vertices).position(0);
 			Gdx.gl.glBufferData(Gdx.gl.GL_ARRAY_BUFFER, vertices.limit()*4, vertices, Gdx.gl.GL_DYNAMIC_DRAW);
 		} else {
-			Gdx.gl.glBufferSubData(Gdx.gl.GL_ARRAY_BUFFER, updateStart*4, (updateEnd - updateStart)*4, vertices);
+			for (int i = 0; i < rangeCount; i++){
+				((Buffer)vertices).position(ranges[i*2]);
+				Gdx.gl.glBufferSubData(Gdx.gl.GL_ARRAY_BUFFER, ranges[i*2]*4, (ranges[i*2+1] - ranges[i*2])*4, vertices);
+			}
 		}
 
 		release();
-		updateStart = updateEnd = -1;
+		rangeCount = 0;
 	}
 
 	public void bind(){
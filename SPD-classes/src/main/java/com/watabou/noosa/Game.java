@@ -39,8 +39,10 @@ import com.watabou.input.InputHandler;
 import com.watabou.input.PointerEvent;
 import com.watabou.noosa.audio.Music;
 import com.watabou.noosa.audio.Sample;
+import com.watabou.noosa.particles.ParticleScript;
 import com.watabou.utils.Callback;
 import com.watabou.utils.DeviceCompat;
+import com.watabou.utils.FileUtils;
 import com.watabou.utils.PlatformSupport;
 import com.watabou.utils.Reflection;
 
@@ -172,6 +174,7 @@ public class Game implements ApplicationListener {
 
 		NoosaScript.get().resetCamera();
 		NoosaScriptNoLighting.get().resetCamera();
+		ParticleScript.get().resetCamera();
 		Gdx.gl.glDisable(Gdx.gl.GL_SCISSOR_TEST);
 		Gdx.gl.glClear(Gdx.gl.GL_COLOR_BUFFER_BIT);
 		draw();
@@ -188,6 +191,9 @@ public class Game implements ApplicationListener {
 		if (scene != null) {
 			scene.onPause();
 		}
+
+		//saves may be written in the background, make sure they're on disk before we can be killed
+		FileUtils.awaitPendingWrites();
 		
 		Script.reset();
 	}
@@ -216,6 +222,7 @@ public class Game implements ApplicationListener {
 	@Override
 	public void dispose() {
 		destroy();
+		FileUtils.awaitPendingWrites();
 	}
 	
 	public static void resetScene() {
@@ -53,8 +53,15 @@ public class Gizmo {
 	}
 	
 	public void kill() {
+		boolean existed = exists;
 		alive = false;
 		exists = false;
+
+		//lets the parent know this gizmo can now be recycled
+		Group p = parent;
+		if (existed && p != null) {
+			p.memberKilled( this );
+		}
 	}
 	
 	// Not exactly opposite to "kill" method
@@ -30,6 +30,9 @@ import com.watabou.utils.Reflection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 public class Group extends Gizmo {
 
@@ -38,6 +41,21 @@ public class Group extends Gizmo {
 	// Accessing it is a little faster,
 	// than calling members.getSize()
 	public int length;
+
+	// No slot below this index is empty, so searches for an empty slot can start here
+	private int firstEmpty;
+	// Number of empty (null) slots, once there are many of them the members list is compacted
+	private int emptySlots;
+	private static final int COMPACT_THRESHOLD = 32;
+
+	// Killed members of each class, for recycling without scanning all members.
+	// Entries are checked when used, as a member may have been revived or removed since.
+	private HashMap<Class<? extends Gizmo>, ArrayList<Gizmo>> deadMembers = new HashMap<>();
+
+	// Members are often killed from another thread while it holds its own lock,
+	// so they are only queued here and sorted into deadMembers under this group's lock.
+	// Nothing else is locked while holding this list's lock, so queueing can't deadlock.
+	private final ArrayList<Gizmo> killedMembers = new ArrayList<>();
 	
 	public Group() {
 		members = new ArrayList<>();
@@ -59,10 +77,18 @@ public class Group extends Gizmo {
 			members = null;
 		}
 		length = 0;
+		firstEmpty = emptySlots = 0;
+		clearDead();
 	}
 	
 	@Override
 	public synchronized void update() {
+		sortKilled();
+
+		if (emptySlots > COMPACT_THRESHOLD && emptySlots * 2 > length) {
+			compact();
+		}
+
 		for (int i=0; i < length; i++) {
 			Gizmo g = members.get( i );
 			if (g != null && g.exists && g.active) {
@@ -110,17 +136,22 @@ public class Group extends Gizmo {
 		}
 		
 		// Trying to find an empty space for a new member
-		for (int i=0; i < length; i++) {
-			if (members.get( i ) == null) {
-				members.set( i, g );
-				g.parent = this;
-				return g;
+		if (emptySlots > 0) {
+			for (int i=firstEmpty; i < length; i++) {
+				if (members.get( i ) == null) {
+					members.set( i, g );
+					emptySlots--;
+					firstEmpty = i + 1;
+					added( g );
+					return g;
+				}
 			}
 		}
 		
 		members.add( g );
-		g.parent = this;
 		length++;
+		firstEmpty = length;
+		added( g );
 		return g;
 	}
 	
@@ -140,7 +171,8 @@ public class Group extends Gizmo {
 			if (members.get( i ) == null) {
 				if (i == 0 || members.get(i - 1) != null) {
 					members.set(i, g);
-					g.parent = this;
+					emptySlots--;
+					added( g );
 					return g;
 				}
 			} else {
@@ -149,8 +181,8 @@ public class Group extends Gizmo {
 		}
 
 		members.add( g );
-		g.parent = this;
 		length++;
+		added( g );
 		return g;
 	}
 	
@@ -167,15 +199,24 @@ public class Group extends Gizmo {
 		
 		if (!members.isEmpty() && members.get( 0 ) == null) {
 			members.set( 0, g );
-			g.parent = this;
+			emptySlots--;
+			added( g );
 			return g;
 		}
 		
 		members.add( 0, g );
-		g.parent = this;
 		length++;
+		firstEmpty++;
+		added( g );
 		return g;
 	}
+
+	private void added( Gizmo g ) {
+		g.parent = this;
+		if (!g.exists) {
+			memberKilled( g );
+		}
+	}
 	
 	public synchronized Gizmo recycle( Class<? extends Gizmo> c ) {
 
@@ -206,6 +247,8 @@ public class Group extends Gizmo {
 
 		if (index != -1) {
 			members.set( index, null );
+			emptySlots++;
+			firstEmpty = Math.min( firstEmpty, index );
 			g.parent = null;
 			return g;
 		} else {
@@ -215,8 +258,11 @@ public class Group extends Gizmo {
 	
 	// Real removal
 	public synchronized Gizmo remove( Gizmo g ) {
-		if (members.remove( g )) {
+		int index = members.indexOf( g );
+		if (index != -1) {
+			members.remove( index );
 			length--;
+			firstEmpty = Math.min( firstEmpty, index );
 			g.parent = null;
 			return g;
 		} else {
@@ -228,8 +274,8 @@ public class Group extends Gizmo {
 		int index = members.indexOf( oldOne );
 		if (index != -1) {
 			members.set( index, newOne );
-			newOne.parent = this;
 			oldOne.parent = null;
+			added( newOne );
 			return newOne;
 		} else {
 			return null;
@@ -237,6 +283,24 @@ public class Group extends Gizmo {
 	}
 	
 	public synchronized Gizmo getFirstAvailable( Class<? extends Gizmo> c ) {
+
+		if (c != null) {
+			sortKilled();
+
+			// Stale entries are dropped, but a valid one stays until it is revived,
+			// as callers may look at it without actually reusing it
+			ArrayList<Gizmo> dead = deadMembers.get( c );
+			if (dead != null) {
+				for (int i=dead.size()-1; i >= 0; i--) {
+					Gizmo g = dead.get( i );
+					if (g.parent == this && !g.exists) {
+						return g;
+					}
+					dead.remove( i );
+				}
+			}
+			return null;
+		}
 		
 		for (int i=0; i < length; i++) {
 			Gizmo g = members.get( i );
@@ -294,12 +358,16 @@ public class Group extends Gizmo {
 		}
 		members.clear();
 		length = 0;
+		firstEmpty = emptySlots = 0;
+		clearDead();
 	}
 	
 	public synchronized Gizmo bringToFront( Gizmo g ) {
-		if (members.contains( g )) {
-			members.remove( g );
+		int index = members.indexOf( g );
+		if (index != -1) {
+			members.remove( index );
 			members.add( g );
+			firstEmpty = Math.min( firstEmpty, index );
 			return g;
 		} else {
 			return null;
@@ -310,6 +378,7 @@ public class Group extends Gizmo {
 		if (members.contains( g )) {
 			members.remove( g );
 			members.add( 0, g );
+			firstEmpty = 0;
 			return g;
 		} else {
 			return null;
@@ -321,8 +390,71 @@ public class Group extends Gizmo {
 		for (int i=0; i < length-1; i++) {
 			if (c.compare(members.get(i), members.get(i+1)) > 0) {
 				Collections.sort(members, c);
+				firstEmpty = 0;
 				return;
 			}
 		}
 	}
+
+	// Called by members when they are killed, without taking this group's lock
+	void memberKilled( Gizmo g ) {
+		synchronized (killedMembers) {
+			killedMembers.add( g );
+		}
+	}
+
+	private void clearDead() {
+		synchronized (killedMembers) {
+			killedMembers.clear();
+		}
+		deadMembers.clear();
+	}
+
+	private void sortKilled() {
+		Gizmo[] killed;
+		synchronized (killedMembers) {
+			if (killedMembers.isEmpty()) return;
+			killed = killedMembers.toArray( new Gizmo[0] );
+			killedMembers.clear();
+		}
+
+		for (Gizmo g : killed) {
+			if (g.parent != this || g.exists) continue;
+
+			ArrayList<Gizmo> dead = deadMembers.get( g.getClass() );
+			if (dead == null) {
+				dead = new ArrayList<>();
+				deadMembers.put( g.getClass(), dead );
+			}
+			dead.add( g );
+
+			// Members that are killed and then erased or revived are never recycled from here,
+			// so stale entries are cleared out once there are more than there could be dead members
+			if (dead.size() > length) {
+				Set<Gizmo> kept = Collections.newSetFromMap( new IdentityHashMap<Gizmo, Boolean>() );
+				ArrayList<Gizmo> valid = new ArrayList<>();
+				for (Gizmo d : dead) {
+					if (d.parent == this && !d.exists && kept.add( d )) {
+						valid.add( d );
+					}
+				}
+				deadMembers.put( g.getClass(), valid );
+			}
+		}
+	}
+
+	// Drops empty slots, keeping the order of all other members
+	private void compact() {
+		int j = 0;
+		for (int i=0; i < length; i++) {
+			Gizmo g = members.get( i );
+			if (g != null) {
+				members.set( j++, g );
+			}
+		}
+		members.subList( j, length ).clear();
+		length = j;
+		firstEmpty = length;
+		emptySlots = 0;
+	}
 }
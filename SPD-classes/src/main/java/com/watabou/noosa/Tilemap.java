@@ -28,7 +28,6 @@ import com.watabou.gltextures.SmartTexture;
 import com.watabou.gltextures.TextureCache;
 import com.watabou.glwrap.Quad;
 import com.watabou.glwrap.Vertexbuffer;
-import com.watabou.utils.Rect;
 import com.watabou.utils.RectF;
 
 import java.nio.Buffer;
@@ -52,11 +51,15 @@ public class Tilemap extends Visual {
 	protected FloatBuffer quads;
 	protected Vertexbuffer buffer;
 
-	private volatile Rect updated;
+	//dirty cells are tracked as a span for each row, so that changes in far apart cells
+	// only update their own rows, instead of everything in a rect between them.
+	//A row is clean when its left edge is not less than its right edge.
+	private int[] updatedLeft;
+	private int[] updatedRight;
+	private volatile boolean updated;
 	private boolean fullUpdate;
-	private Rect updating;
-	private int topLeftUpdating;
-	private int bottomRightUpdating;
+	private int[] updatingLeft;
+	private int[] updatingRight;
 
 	public Tilemap( Object tx, TextureFilm tileset ) {
 
@@ -70,8 +73,6 @@ public class Tilemap extends Visual {
 		cellH = tileset.height( r );
 
 		vertices = new float[16];
-
-		updated = new Rect();
 	}
 
 	public void map( int[] data, int cols ) {
@@ -87,6 +88,11 @@ public class Tilemap extends Visual {
 
 		quads = Quad.createSet( size );
 
+		updatedLeft = new int[mapHeight];
+		updatedRight = new int[mapHeight];
+		updatingLeft = new int[mapHeight];
+		updatingRight = new int[mapHeight];
+
 		updateMap();
 	}
 	
@@ -102,17 +108,37 @@ public class Tilemap extends Visual {
 
 	//forces a full update, including new buffer
 	public synchronized void updateMap(){
-		updated.set( 0, 0, mapWidth, mapHeight );
+		Arrays.fill( updatedLeft, 0 );
+		Arrays.fill( updatedRight, mapWidth );
+		updated = true;
 		fullUpdate = true;
 	}
 
 	public synchronized void updateMapCell(int cell){
-		updated.union( cell % mapWidth, cell / mapWidth );
+		int row = cell / mapWidth;
+		int col = cell % mapWidth;
+		if (updatedLeft[row] >= updatedRight[row]){
+			updatedLeft[row] = col;
+			updatedRight[row] = col + 1;
+		} else {
+			updatedLeft[row] = Math.min( updatedLeft[row], col );
+			updatedRight[row] = Math.max( updatedRight[row], col + 1 );
+		}
+		updated = true;
 	}
 
 	private synchronized void moveToUpdating(){
-		updating = new Rect(updated);
-		updated.setEmpty();
+		int[] swap = updatingLeft;
+		updatingLeft = updatedLeft;
+		updatedLeft = swap;
+
+		swap = updatingRight;
+		updatingRight = updatedRight;
+		updatedRight = swap;
+
+		Arrays.fill( updatedLeft, 0 );
+		Arrays.fill( updatedRight, 0 );
+		updated = false;
 	}
 
 	protected void updateVertices() {
@@ -123,24 +149,23 @@ public class Tilemap extends Visual {
 		int pos;
 		RectF uv;
 
-		y1 = cellH * updating.top;
-		y2 = y1 + cellH;
-
-		for (int i=updating.top; i < updating.bottom; i++) {
+		for (int i=0; i < mapHeight; i++) {
 
-			x1 = cellW * updating.left;
-			x2 = x1 + cellW;
+			if (updatingLeft[i] >= updatingRight[i]){
+				continue;
+			}
 
-			pos = i * mapWidth + updating.left;
+			y1 = cellH * i;
+			y2 = y1 + cellH;
 
-			for (int j=updating.left; j < updating.right; j++) {
+			x1 = cellW * updatingLeft[i];
+			x2 = x1 + cellW;
 
-				if (topLeftUpdating == -1)
-					topLeftUpdating = pos;
+			pos = i * mapWidth + updatingLeft[i];
 
-				bottomRightUpdating = pos + 1;
+			((Buffer)quads).position(pos*16);
 
-				((Buffer)quads).position(pos*16);
+			for (int j=updatingLeft[i]; j < updatingRight[i]; j++) {
 				
 				uv = tileset.get(data[pos]);
 				
@@ -186,22 +211,16 @@ public class Tilemap extends Visual {
 				x2 += cellW;
 
 			}
-
-			y1 = y2;
-			y2 += cellH;
 		}
 
 	}
 
-	//private int camX, camY, camW, camH;
-	//private int topLeft, bottomRight, length;
-
 	@Override
 	public void draw() {
 
 		super.draw();
 
-		if (!updated.isEmpty()) {
+		if (updated) {
 			updateVertices();
 			if (buffer == null)
 				buffer = new Vertexbuffer(quads);
@@ -210,13 +229,16 @@ public class Tilemap extends Visual {
 					buffer.updateVertices(quads);
 					fullUpdate = false;
 				} else {
-					buffer.updateVertices(quads,
-							topLeftUpdating * 16,
-							bottomRightUpdating * 16);
+					//each row's span is flagged separately, the buffer merges any that touch
+					for (int i=0; i < mapHeight; i++) {
+						if (updatingLeft[i] < updatingRight[i]) {
+							buffer.updateVertices(quads,
+									(i * mapWidth + updatingLeft[i]) * 16,
+									(i * mapWidth + updatingRight[i]) * 16);
+						}
+					}
 				}
 			}
-			topLeftUpdating = -1;
-			updating.setEmpty();
 		}
 
 		NoosaScript script = script();
@@ -230,8 +252,28 @@ public class Tilemap extends Visual {
 
 		script.camera( camera );
 
-		script.drawQuadSet( buffer, size, 0 );
+		//rows are laid out top to bottom in the buffer, so rows outside of the camera can be skipped
+		int firstRow = 0;
+		int lastRow = mapHeight;
+		Camera c = camera();
+		if (c != null && angle == 0 && scale.y > 0){
+			//camera width and height are already in world units
+			float viewTop = c.scroll.y + c.shakeY;
+			float viewBottom = viewTop + c.height;
+			//a couple of extra rows are kept to cover rounding and shake changing between frames
+			firstRow = Math.max( 0, (int)Math.floor( rowAt( viewTop ) ) - 2 );
+			lastRow = Math.min( mapHeight, (int)Math.ceil( rowAt( viewBottom ) ) + 2 );
+		}
+
+		if (firstRow < lastRow) {
+			script.drawQuadSet( buffer, (lastRow - firstRow) * mapWidth, firstRow * mapWidth );
+		}
+
+	}
 
+	//the (fractional) row at a given world y coordinate
+	private float rowAt( float worldY ){
+		return ((worldY - y - origin.y) / scale.y + origin.y) / cellH;
 	}
 	
 	protected NoosaScript script(){
@@ -24,13 +24,23 @@
 
 package com.watabou.noosa.particles;
 
+import com.watabou.gltextures.SmartTexture;
+import com.watabou.gltextures.TextureCache;
 import com.watabou.glwrap.Blending;
+import com.watabou.glwrap.Vertexbuffer;
+import com.watabou.noosa.Camera;
 import com.watabou.noosa.Game;
+import com.watabou.noosa.Gizmo;
 import com.watabou.noosa.Group;
 import com.watabou.noosa.Visual;
 import com.watabou.utils.PointF;
 import com.watabou.utils.Random;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
 public class Emitter extends Group {
 
 	protected boolean lightMode = false;
@@ -173,10 +183,94 @@ public class Emitter extends Group {
 	public void draw() {
 		if (lightMode) {
 			Blending.setLightMode();
-			super.draw();
+			drawMembers();
 			Blending.setNormalMode();
 		} else {
-			super.draw();
+			drawMembers();
+		}
+	}
+
+	//pixel particles are drawn in batches rather than one at a time, but members are still drawn in order,
+	// so a batch is drawn out whenever any other kind of member comes up
+	private static final int MAX_BATCH = 4096;
+	private float[] batchVertices;
+	private FloatBuffer batchBuffer;
+	private Vertexbuffer batchGL;
+	private SmartTexture batchTexture;
+	private int batchCount;
+
+	protected synchronized void drawMembers() {
+		Camera c = camera();
+		SmartTexture white = TextureCache.createSolid( 0xFFFFFFFF );
+
+		for (int i=0; i < length; i++) {
+			Gizmo g = members.get( i );
+			if (g != null && g.exists && g.isVisible()) {
+				if (g instanceof PixelParticle
+						&& ((PixelParticle) g).texture == white
+						&& g.camera() == c) {
+					if (batchCount == MAX_BATCH) {
+						drawBatch();
+					}
+					addToBatch( (PixelParticle) g );
+				} else {
+					drawBatch();
+					g.draw();
+				}
+			}
+		}
+
+		drawBatch();
+	}
+
+	private void addToBatch( PixelParticle p ) {
+		int floats = 4 * ParticleScript.STRIDE;
+		if (batchVertices == null || batchVertices.length < (batchCount + 1) * floats) {
+			int size = batchVertices == null ? 16 : Math.min( MAX_BATCH, batchVertices.length / floats * 2 );
+			float[] vertices = new float[size * floats];
+			if (batchVertices != null) {
+				System.arraycopy( batchVertices, 0, vertices, 0, batchCount * floats );
+			}
+			batchVertices = vertices;
+			batchBuffer = ByteBuffer.
+				allocateDirect( size * floats * Float.SIZE / 8 ).
+				order( ByteOrder.nativeOrder() ).
+				asFloatBuffer();
+			if (batchGL != null) {
+				batchGL.updateVertices( batchBuffer );
+			}
+		}
+		batchTexture = p.texture;
+		p.batch( batchVertices, batchCount * floats );
+		batchCount++;
+	}
+
+	private void drawBatch() {
+		if (batchCount == 0) return;
+
+		int floats = batchCount * 4 * ParticleScript.STRIDE;
+		((Buffer)batchBuffer).position( 0 );
+		batchBuffer.put( batchVertices, 0, floats );
+		if (batchGL == null) {
+			batchGL = new Vertexbuffer( batchBuffer );
+		} else {
+			batchGL.updateVertices( batchBuffer, 0, floats );
+		}
+
+		ParticleScript script = ParticleScript.get();
+		batchTexture.bind();
+		script.camera( camera() );
+		script.drawBatch( batchGL, batchCount );
+
+		batchCount = 0;
+	}
+
+	@Override
+	public synchronized void destroy() {
+		super.destroy();
+		if (batchGL != null) {
+			batchGL.delete();
+			batchGL = null;
 		}
 	}
 	
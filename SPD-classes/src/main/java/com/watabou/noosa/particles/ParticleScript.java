@@ -0,0 +1,110 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * Experienced Pixel Dungeon
+ * Copyright (C) 2019-2024 Trashbox Bobylev
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+
+package com.watabou.noosa.particles;
+
+import com.badlogic.gdx.Gdx;
+import com.watabou.glscripts.Script;
+import com.watabou.glwrap.Attribute;
+import com.watabou.glwrap.Quad;
+import com.watabou.glwrap.Vertexbuffer;
+import com.watabou.noosa.NoosaScript;
+
+//Draws many pixel particles in one command. Vertices are already in world coordinates
+// and carry their own colour, so no model matrix or lighting uniforms are needed.
+public class ParticleScript extends NoosaScript {
+
+	//floats per vertex: x, y, u, v, r, g, b, a
+	public static final int STRIDE = 8;
+
+	public Attribute aColor;
+
+	public ParticleScript() {
+		super();
+		aColor = attribute( "aColor" );
+	}
+
+	public void drawBatch( Vertexbuffer buffer, int length ){
+
+		if (length == 0) {
+			return;
+		}
+
+		buffer.updateGLData();
+
+		buffer.bind();
+
+		aXY.vertexBuffer( 2, STRIDE, 0 );
+		aUV.vertexBuffer( 2, STRIDE, 2 );
+		aColor.enable();
+		aColor.vertexBuffer( 4, STRIDE, 4 );
+
+		buffer.release();
+
+		Gdx.gl20.glDrawElements( Gdx.gl20.GL_TRIANGLES, Quad.SIZE * length, Gdx.gl20.GL_UNSIGNED_SHORT, 0 );
+
+		//other scripts don't use this attribute, so it isn't left enabled
+		aColor.disable();
+	}
+
+	public static ParticleScript get(){
+		return Script.use( ParticleScript.class );
+	}
+
+	@Override
+	protected String shader() {
+		return SHADER;
+	}
+
+	private static final String SHADER =
+
+		//vertex shader
+		"uniform mat4 uCamera;\n" +
+		"attribute vec4 aXYZW;\n" +
+		"attribute vec2 aUV;\n" +
+		"attribute vec4 aColor;\n" +
+		"varying vec2 vUV;\n" +
+		"varying vec4 vColor;\n" +
+		"void main() {\n" +
+		"  gl_Position = uCamera * aXYZW;\n" +
+		"  vUV = aUV;\n" +
+		"  vColor = aColor;\n" +
+		"}\n" +
+
+		//this symbol separates the vertex and fragment shaders (see Script.compile)
+		"//\n" +
+
+		//fragment shader
+		//preprocessor directives let us define precision on GLES platforms, and ignore it elsewhere
+		"#ifdef GL_ES\n" +
+		"  precision mediump float;\n" +
+		"#endif\n" +
+		"varying vec2 vUV;\n" +
+		"varying vec4 vColor;\n" +
+		"uniform sampler2D uTex;\n" +
+		"void main() {\n" +
+		"  gl_FragColor = texture2D( uTex, vUV ) * vColor;\n" +
+		"}\n";
+}
@@ -26,6 +26,7 @@ package com.watabou.noosa.particles;
 
 import com.watabou.noosa.Game;
 import com.watabou.noosa.PseudoPixel;
+import com.watabou.utils.PointF;
 
 public class PixelParticle extends PseudoPixel {
 
@@ -61,6 +62,31 @@ public class PixelParticle extends PseudoPixel {
 		}
 	}
 	
+	//writes this particle's quad into a particle batch, in world coordinates and with its colour baked in.
+	//Colours only add up like this because pixel particles use a solid white texture.
+	int batch( float[] v, int pos ){
+		float cos = 1, sin = 0;
+		if (angle != 0){
+			cos = (float)Math.cos( angle * PointF.G2R );
+			sin = (float)Math.sin( angle * PointF.G2R );
+		}
+		float r = rm + ra, g = gm + ga, b = bm + ba, a = am + aa;
+
+		for (int i = 0; i < 16; i += 4){
+			float lx = (vertices[i] - origin.x) * scale.x;
+			float ly = (vertices[i+1] - origin.y) * scale.y;
+			v[pos++] = x + origin.x + cos * lx - sin * ly;
+			v[pos++] = y + origin.y + sin * lx + cos * ly;
+			v[pos++] = vertices[i+2];
+			v[pos++] = vertices[i+3];
+			v[pos++] = r;
+			v[pos++] = g;
+			v[pos++] = b;
+			v[pos++] = a;
+		}
+		return pos;
+	}
+	
 	public static class Shrinking extends PixelParticle {
 		@Override
 		public void update() {
@@ -156,4 +156,24 @@ public class BArray {
 		
 		return result;
 	}
+
+	//packs a boolean map 64 cells to a long, e.g. for compact storage in bundles
+	public static long[] pack( boolean[] a ){
+		long[] words = new long[(a.length + 63) >>> 6];
+		for (int i=0; i < a.length; i++) {
+			if (a[i]) {
+				words[i >>> 6] |= 1L << i;
+			}
+		}
+		return words;
+	}
+
+	public static boolean[] unpack( long[] words, int length ){
+		boolean[] result = new boolean[length];
+		int max = Math.min( length, words.length << 6 );
+		for (int i=0; i < max; i++) {
+			result[i] = (words[i >>> 6] & (1L << i)) != 0;
+		}
+		return result;
+	}
 }
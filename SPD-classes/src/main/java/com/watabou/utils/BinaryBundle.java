@@ -0,0 +1,444 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * Experienced Pixel Dungeon
+ * Copyright (C) 2019-2024 Trashbox Bobylev
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.utils;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+
+//A compact tagged binary encoding of bundle data, used as an alternative to JSON text.
+//It writes the JSON tree directly, so no JSON string is ever built or tokenized.
+//Keys and strings (including class names) are interned, and arrays of a single primitive type are packed.
+class BinaryBundle {
+
+	//written before any binary bundle data, JSON text can never start with these bytes
+	static final byte[] MAGIC = {'S', 'P', 'D', 'B'};
+	private static final int VERSION = 1;
+
+	private static final int NULL         = 0;
+	private static final int TRUE         = 1;
+	private static final int FALSE        = 2;
+	private static final int INT          = 3;
+	private static final int LONG         = 4;
+	private static final int FLOAT        = 5;
+	private static final int DOUBLE       = 6;
+	private static final int STRING       = 7;
+	private static final int OBJECT       = 8;
+	private static final int ARRAY        = 9;
+	private static final int INT_ARRAY    = 10;
+	private static final int LONG_ARRAY   = 11;
+	private static final int BOOL_ARRAY   = 12;
+	private static final int DOUBLE_ARRAY = 13;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	// ***************
+	// *** Writing ***
+	// ***************
+
+	static void write( Object root, OutputStream stream ) throws IOException {
+		DataOutputStream out = new DataOutputStream( stream );
+		out.write( MAGIC );
+		writeVarInt( out, VERSION );
+		new Writer( out ).writeValue( root );
+		out.flush();
+	}
+
+	private static class Writer {
+
+		private final DataOutputStream out;
+		private final HashMap<String, Integer> strings = new HashMap<>();
+
+		Writer( DataOutputStream out ){
+			this.out = out;
+		}
+
+		void writeValue( Object value ) throws IOException {
+			if (value == null || value == JSONObject.NULL) {
+				out.writeByte( NULL );
+			} else if (value instanceof Boolean) {
+				out.writeByte( (Boolean)value ? TRUE : FALSE );
+			} else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				out.writeByte( INT );
+				out.writeInt( ((Number)value).intValue() );
+			} else if (value instanceof Long) {
+				out.writeByte( LONG );
+				out.writeLong( (Long)value );
+			} else if (value instanceof Float) {
+				out.writeByte( FLOAT );
+				out.writeFloat( (Float)value );
+			} else if (value instanceof Double) {
+				out.writeByte( DOUBLE );
+				out.writeDouble( (Double)value );
+			} else if (value instanceof JSONObject) {
+				writeObject( (JSONObject)value );
+			} else if (value instanceof JSONArray) {
+				writeArray( (JSONArray)value );
+			} else {
+				//strings, and anything else JSON would write as a string (e.g. classes)
+				out.writeByte( STRING );
+				writeString( value.toString() );
+			}
+		}
+
+		void writeObject( JSONObject object ) throws IOException {
+			out.writeByte( OBJECT );
+			writeVarInt( out, object.length() );
+			Iterator<String> keys = object.keys();
+			while (keys.hasNext()) {
+				String key = keys.next();
+				writeString( key );
+				writeValue( object.opt( key ) );
+			}
+		}
+
+		void writeArray( JSONArray array ) throws IOException {
+			int length = array.length();
+			int packedType = packedType( array );
+
+			out.writeByte( packedType );
+			writeVarInt( out, length );
+			switch (packedType) {
+				case INT_ARRAY:
+					for (int i = 0; i < length; i++) out.writeInt( ((Integer)array.opt( i )) );
+					break;
+				case LONG_ARRAY:
+					for (int i = 0; i < length; i++) out.writeLong( ((Long)array.opt( i )) );
+					break;
+				case DOUBLE_ARRAY:
+					for (int i = 0; i < length; i++) out.writeDouble( ((Double)array.opt( i )) );
+					break;
+				case BOOL_ARRAY:
+					int bits = 0;
+					for (int i = 0; i < length; i++) {
+						if ((Boolean)array.opt( i )) bits |= 1 << (i & 7);
+						if ((i & 7) == 7 || i == length - 1) {
+							out.writeByte( bits );
+							bits = 0;
+						}
+					}
+					break;
+				default:
+					for (int i = 0; i < length; i++) writeValue( array.opt( i ) );
+					break;
+			}
+		}
+
+		//arrays where every element has the same primitive type are packed without per-element tags
+		private int packedType( JSONArray array ){
+			int length = array.length();
+			if (length == 0) return ARRAY;
+
+			Object first = array.opt( 0 );
+			Class<?> type;
+			int packed;
+			if (first instanceof Integer)      { type = Integer.class; packed = INT_ARRAY; }
+			else if (first instanceof Long)    { type = Long.class;    packed = LONG_ARRAY; }
+			else if (first instanceof Double)  { type = Double.class;  packed = DOUBLE_ARRAY; }
+			else if (first instanceof Boolean) { type = Boolean.class; packed = BOOL_ARRAY; }
+			else return ARRAY;
+
+			for (int i = 1; i < length; i++) {
+				Object o = array.opt( i );
+				if (o == null || o.getClass() != type) return ARRAY;
+			}
+			return packed;
+		}
+
+		//each distinct string is written once, later uses refer back to it
+		void writeString( String string ) throws IOException {
+			Integer index = strings.get( string );
+			if (index != null) {
+				writeVarInt( out, index + 1 );
+			} else {
+				strings.put( string, strings.size() );
+				writeVarInt( out, 0 );
+				byte[] bytes = string.getBytes( UTF8 );
+				writeVarInt( out, bytes.length );
+				out.write( bytes );
+			}
+		}
+	}
+
+	private static void writeVarInt( DataOutputStream out, int value ) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte( (value & 0x7F) | 0x80 );
+			value >>>= 7;
+		}
+		out.writeByte( value );
+	}
+
+	// ***************
+	// *** Reading ***
+	// ***************
+
+	//the stream must be positioned just after the magic bytes
+	static Object read( InputStream stream ) throws IOException {
+		DataInputStream in = new DataInputStream( stream );
+		checkVersion( in );
+		try {
+			return new Reader( in ).readValue( in.readUnsignedByte() );
+		} catch (JSONException e) {
+			throw new IOException( e );
+		}
+	}
+
+	//reads only the root object's own values, nested objects and arrays are skipped over and read when first used
+	//returns null if the root isn't an object
+	static Bundle readLazily( byte[] bytes ) throws IOException, JSONException {
+		Reader reader = new Reader( bytes, MAGIC.length, new ArrayList<String>() );
+		checkVersion( reader.in );
+		if (reader.in.readUnsignedByte() != OBJECT) {
+			return null;
+		}
+		return reader.readObjectLazily();
+	}
+
+	private static void checkVersion( DataInputStream in ) throws IOException {
+		int version = readVarInt( in );
+		if (version > VERSION) {
+			throw new IOException("unsupported binary bundle version: " + version);
+		}
+	}
+
+	//a byte array stream which can report its position
+	private static class Bytes extends ByteArrayInputStream {
+
+		Bytes( byte[] bytes, int position ){
+			super( bytes );
+			pos = position;
+		}
+
+		int position(){
+			return pos;
+		}
+
+		byte[] bytes(){
+			return buf;
+		}
+	}
+
+	private static class Reader {
+
+		private final DataInputStream in;
+		private final ArrayList<String> strings;
+
+		//only set when reading from a byte array, which allows values to be deferred
+		private Bytes bytes;
+
+		Reader( DataInputStream in ){
+			this.in = in;
+			strings = new ArrayList<>();
+		}
+
+		//strings must hold exactly the strings which were defined before the given position
+		Reader( byte[] bytes, int position, ArrayList<String> strings ){
+			this.bytes = new Bytes( bytes, position );
+			in = new DataInputStream( this.bytes );
+			this.strings = strings;
+		}
+
+		Bundle readObjectLazily() throws IOException, JSONException {
+			JSONObject object = new JSONObject();
+			HashMap<String, Bundle.Deferred> deferred = new HashMap<>();
+			int length = readVarInt( in );
+			for (int i = 0; i < length; i++) {
+				String key = readString();
+				int position = bytes.position();
+				int tag = in.readUnsignedByte();
+				if (tag >= OBJECT) {
+					deferred.put( key, new Deferred( bytes.bytes(), position, strings, tag == OBJECT ) );
+					skipValue( tag );
+				} else {
+					object.put( key, readValue( tag ) );
+				}
+			}
+			return Bundle.lazy( object, deferred );
+		}
+
+		//strings still have to be read while skipping, as later data may refer back to them
+		void skipValue( int tag ) throws IOException {
+			int length;
+			switch (tag) {
+				case NULL: case TRUE: case FALSE:
+					return;
+				case INT: case FLOAT:
+					in.skipBytes( 4 );
+					return;
+				case LONG: case DOUBLE:
+					in.skipBytes( 8 );
+					return;
+				case STRING:
+					readString();
+					return;
+				case OBJECT:
+					length = readVarInt( in );
+					for (int i = 0; i < length; i++) {
+						readString();
+						skipValue( in.readUnsignedByte() );
+					}
+					return;
+				case ARRAY:
+					length = readVarInt( in );
+					for (int i = 0; i < length; i++) skipValue( in.readUnsignedByte() );
+					return;
+				case INT_ARRAY:
+					in.skipBytes( 4 * readVarInt( in ) );
+					return;
+				case LONG_ARRAY: case DOUBLE_ARRAY:
+					in.skipBytes( 8 * readVarInt( in ) );
+					return;
+				case BOOL_ARRAY:
+					in.skipBytes( (readVarInt( in ) + 7) / 8 );
+					return;
+				default:
+					throw new IOException("unknown binary bundle tag: " + tag);
+			}
+		}
+
+		Object readValue( int tag ) throws IOException, JSONException {
+			switch (tag) {
+				case NULL:   return JSONObject.NULL;
+				case TRUE:   return Boolean.TRUE;
+				case FALSE:  return Boolean.FALSE;
+				case INT:    return in.readInt();
+				case LONG:   return in.readLong();
+				case FLOAT:  return (double)in.readFloat();
+				case DOUBLE: return in.readDouble();
+				case STRING: return readString();
+				case OBJECT: return readObject();
+				default:     return readArray( tag );
+			}
+		}
+
+		JSONObject readObject() throws IOException, JSONException {
+			JSONObject object = new JSONObject();
+			int length = readVarInt( in );
+			for (int i = 0; i < length; i++) {
+				String key = readString();
+				object.put( key, readValue( in.readUnsignedByte() ) );
+			}
+			return object;
+		}
+
+		JSONArray readArray( int tag ) throws IOException, JSONException {
+			JSONArray array = new JSONArray();
+			int length = readVarInt( in );
+			switch (tag) {
+				case ARRAY:
+					for (int i = 0; i < length; i++) array.put( readValue( in.readUnsignedByte() ) );
+					break;
+				case INT_ARRAY:
+					for (int i = 0; i < length; i++) array.put( in.readInt() );
+					break;
+				case LONG_ARRAY:
+					for (int i = 0; i < length; i++) array.put( in.readLong() );
+					break;
+				case DOUBLE_ARRAY:
+					for (int i = 0; i < length; i++) array.put( in.readDouble() );
+					break;
+				case BOOL_ARRAY:
+					int bits = 0;
+					for (int i = 0; i < length; i++) {
+						if ((i & 7) == 0) bits = in.readUnsignedByte();
+						array.put( (bits & (1 << (i & 7))) != 0 );
+					}
+					break;
+				default:
+					throw new IOException("unknown binary bundle tag: " + tag);
+			}
+			return array;
+		}
+
+		String readString() throws IOException {
+			int ref = readVarInt( in );
+			if (ref > 0) {
+				return strings.get( ref - 1 );
+			}
+			byte[] bytes = new byte[readVarInt( in )];
+			in.readFully( bytes );
+			String string = new String( bytes, UTF8 );
+			strings.add( string );
+			return string;
+		}
+	}
+
+	private static class Deferred extends Bundle.Deferred {
+
+		private final byte[] bytes;
+		private final int position;
+		private final ArrayList<String> strings;
+		private final int stringCount;
+
+		Deferred( byte[] bytes, int position, ArrayList<String> strings, boolean isObject ){
+			super( isObject );
+			this.bytes = bytes;
+			this.position = position;
+			this.strings = strings;
+			stringCount = strings.size();
+		}
+
+		//the reader gets its own copy of the strings which were known at this point
+		private Reader reader(){
+			return new Reader( bytes, position, new ArrayList<>( strings.subList( 0, stringCount ) ) );
+		}
+
+		@Override
+		Object read() throws IOException, JSONException {
+			Reader reader = reader();
+			return reader.readValue( reader.in.readUnsignedByte() );
+		}
+
+		@Override
+		Bundle readLazily() throws IOException, JSONException {
+			Reader reader = reader();
+			reader.in.readUnsignedByte();
+			return reader.readObjectLazily();
+		}
+	}
+
+	private static int readVarInt( DataInputStream in ) throws IOException {
+		int result = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			result |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return result;
+	}
+}
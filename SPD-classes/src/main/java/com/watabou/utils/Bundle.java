@@ -62,11 +62,16 @@ public class Bundle {
 	 */
 	private JSONObject data;
 
+	//only used by lazily read bundles, values which haven't been parsed yet and nested bundles which have
+	private HashMap<String, Deferred> deferred;
+	private HashMap<String, Bundle> lazyBundles;
+
 	public Bundle() {
 		this( new JSONObject() );
 	}
 
 	public String toString() {
+		materialize();
 		return data.toString();
 	}
 
@@ -74,16 +79,28 @@ public class Bundle {
 		this.data = data;
 	}
 
+	static Bundle lazy( JSONObject data, HashMap<String, Deferred> deferred ){
+		Bundle bundle = new Bundle( data );
+		bundle.deferred = deferred;
+		bundle.lazyBundles = new HashMap<>();
+		return bundle;
+	}
+
 	public boolean isNull() {
 		return data == null;
 	}
 
 	public boolean contains( String key ) {
-		return !isNull() && !data.isNull( key );
+		return !isNull() && (!data.isNull( key ) || isDeferred( key ));
 	}
 
 	public boolean remove( String key ){
-		return data.remove(key) != null;
+		boolean removed = data.remove(key) != null;
+		if (deferred != null){
+			removed = deferred.remove(key) != null || removed;
+			removed = lazyBundles.remove(key) != null || removed;
+		}
+		return removed;
 	}
 
 	//JSONObject.keyset() doesn't exist on Android/iOS
@@ -93,9 +110,71 @@ public class Bundle {
 		while (keys.hasNext()){
 			result.add(keys.next());
 		}
+		if (deferred != null){
+			result.addAll(deferred.keySet());
+			result.addAll(lazyBundles.keySet());
+		}
 		return result;
 	}
 
+	// ***************************
+	// *** Lazily read bundles ***
+	// ***************************
+
+	//a nested object or array in lazily read bundle data, which is only parsed when first used
+	static abstract class Deferred {
+
+		final boolean isObject;
+
+		Deferred( boolean isObject ){
+			this.isObject = isObject;
+		}
+
+		//parses the value in full, into a JSONObject or JSONArray
+		abstract Object read() throws Exception;
+
+		//parses an object's own values, leaving anything nested in it deferred
+		abstract Bundle readLazily() throws Exception;
+	}
+
+	private boolean isDeferred( String key ){
+		return deferred != null && (deferred.containsKey( key ) || lazyBundles.containsKey( key ));
+	}
+
+	//parses a deferred value in full, values which have since been replaced are dropped
+	private void resolve( String key ){
+		if (deferred == null) return;
+		Deferred value = deferred.remove( key );
+		if (value != null && !data.has( key )){
+			try {
+				data.put( key, value.read() );
+			} catch (Exception e) {
+				Game.reportException(e);
+			}
+		}
+	}
+
+	//parses everything which is still deferred, e.g. before the bundle is written
+	private void materialize(){
+		if (deferred == null) return;
+		for (Map.Entry<String, Bundle> entry : lazyBundles.entrySet()){
+			Bundle bundle = entry.getValue();
+			bundle.materialize();
+			if (!data.has( entry.getKey() )){
+				try {
+					data.put( entry.getKey(), bundle.data );
+				} catch (JSONException e) {
+					Game.reportException(e);
+				}
+			}
+		}
+		for (String key : new ArrayList<>( deferred.keySet() )){
+			resolve( key );
+		}
+		deferred = null;
+		lazyBundles = null;
+	}
+
 	public boolean getBoolean( String key ) {
 		return data.optBoolean( key );
 	}
@@ -133,6 +212,18 @@ public class Bundle {
 	}
 
 	public Bundle getBundle( String key ) {
+		if (deferred != null && !data.has( key )){
+			Bundle bundle = lazyBundles.get( key );
+			if (bundle == null && deferred.containsKey( key ) && deferred.get( key ).isObject){
+				try {
+					bundle = deferred.remove( key ).readLazily();
+					lazyBundles.put( key, bundle );
+				} catch (Exception e) {
+					Game.reportException(e);
+				}
+			}
+			if (bundle != null) return bundle;
+		}
 		return new Bundle( data.optJSONObject( key ) );
 	}
 
@@ -176,6 +267,7 @@ public class Bundle {
 
 	public int[] getIntArray( String key ) {
 		try {
+			resolve( key );
 			JSONArray array = data.getJSONArray( key );
 			int length = array.length();
 			int[] result = new int[length];
@@ -191,6 +283,7 @@ public class Bundle {
 
 	public long[] getLongArray( String key ) {
 		try {
+			resolve( key );
 			JSONArray array = data.getJSONArray( key );
 			int length = array.length();
 			long[] result = new long[length];
@@ -206,6 +299,7 @@ public class Bundle {
 
 	public float[] getFloatArray( String key ) {
 		try {
+			resolve( key );
 			JSONArray array = data.getJSONArray( key );
 			int length = array.length();
 			float[] result = new float[length];
@@ -221,6 +315,7 @@ public class Bundle {
 
 	public boolean[] getBooleanArray( String key ) {
 		try {
+			resolve( key );
 			JSONArray array = data.getJSONArray( key );
 			int length = array.length();
 			boolean[] result = new boolean[length];
@@ -236,6 +331,7 @@ public class Bundle {
 
 	public String[] getStringArray( String key ) {
 		try {
+			resolve( key );
 			JSONArray array = data.getJSONArray( key );
 			int length = array.length();
 			String[] result = new String[length];
@@ -251,6 +347,7 @@ public class Bundle {
 
 	public Class[] getClassArray( String key ) {
 		try {
+			resolve( key );
 			JSONArray array = data.getJSONArray( key );
 			int length = array.length();
 			Class[] result = new Class[length];
@@ -275,6 +372,7 @@ public class Bundle {
 
 	public Bundle[] getBundleArray( String key ){
 		try {
+			resolve( key );
 			JSONArray array = data.getJSONArray( key );
 			int length = array.length();
 			Bundle[] result = new Bundle[length];
@@ -293,6 +391,7 @@ public class Bundle {
 		ArrayList<Bundlable> list = new ArrayList<>();
 
 		try {
+			resolve( key );
 			JSONArray array = data.getJSONArray( key );
 			for (int i=0; i < array.length(); i++) {
 				Bundlable O = new Bundle( array.getJSONObject( i ) ).get();
@@ -362,6 +461,7 @@ public class Bundle {
 	}
 
 	public void put( String key, Bundle bundle ) {
+		bundle.materialize();
 		try {
 			data.put( key, bundle.data );
 		} catch (JSONException e) {
@@ -506,47 +606,25 @@ public class Bundle {
 	public static Bundle read( InputStream stream ) throws IOException {
 
 		try {
-			if (!stream.markSupported()){
-				stream = new BufferedInputStream( stream, 2 );
+			stream = decompressed( stream );
+
+			//determines if we're reading binary data, or JSON text
+			Object json = null;
+			stream.mark( BinaryBundle.MAGIC.length );
+			byte[] magic = new byte[BinaryBundle.MAGIC.length];
+			int magicRead = 0;
+			while (magicRead < magic.length){
+				int read = stream.read( magic, magicRead, magic.length - magicRead );
+				if (read == -1) break;
+				magicRead += read;
 			}
-
-			//determines if we're reading a regular, or compressed file
-			stream.mark( 2 );
-			byte[] header = new byte[2];
-			stream.read( header );
-			stream.reset();
-
-			//GZIP header is 0x1f8b
-			if( header[ 0 ] == (byte) 0x1f && header[ 1 ] == (byte) 0x8b ) {
-				stream = new GZIPInputStream( stream, GZIP_BUFFER );
-			}
-
-			//JSONTokenizer only has a string-based constructor on Android/iOS
-			BufferedReader reader = new BufferedReader( new InputStreamReader( stream ));
-			StringBuilder jsonBuilder = new StringBuilder();
-
-			String line;
-			while ((line = reader.readLine()) != null) {
-				jsonBuilder.append(line);
-				jsonBuilder.append("\n");
-			}
-			String jsonString = jsonBuilder.toString();
-
-			Object json;
-			try {
-				json = new JSONTokener(jsonString).nextValue();
-			} catch (Exception e){
-				//TODO support for v1.1.X saves has been dropped, can probably remove this soon
-				//if the string can't be tokenized, it may be written by v1.1.X, which used libGDX JSON.
-				// Some of these are written in a 'minified' format, some have duplicate keys.
-				// We read them in with the libGDX JSON code, fix duplicates, write as full JSON
-				// and then try to read again with org.json
-				Game.reportException(e);
-				JsonValue gdxJSON = new JsonReader().parse(jsonString);
-				killDuplicateKeysInLibGDXJSON(gdxJSON);
-				json = new JSONTokener(gdxJSON.prettyPrint(JsonWriter.OutputType.json, 0)).nextValue();
+			if (Arrays.equals( magic, BinaryBundle.MAGIC )){
+				json = BinaryBundle.read( stream );
+				stream.close();
+			} else {
+				stream.reset();
+				json = readJSON( stream );
 			}
-			reader.close();
 
 			//if the data is an array, put it in a fresh object with the default key
 			if (json instanceof JSONArray){
@@ -560,6 +638,92 @@ public class Bundle {
 		}
 	}
 
+	//Only reads the top-level values of the bundle right away, nested bundles and arrays are parsed when first used.
+	//This is much faster when only a few values are needed, e.g. for save previews.
+	public static Bundle readLazily( InputStream stream ) throws IOException {
+
+		byte[] bytes;
+		try {
+			stream = decompressed( stream );
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[GZIP_BUFFER];
+			int read;
+			while ((read = stream.read( buffer )) != -1){
+				out.write( buffer, 0, read );
+			}
+			stream.close();
+			bytes = out.toByteArray();
+		} catch (Exception e) {
+			Game.reportException(e);
+			throw new IOException();
+		}
+
+		try {
+			Bundle result;
+			if (bytes.length >= BinaryBundle.MAGIC.length
+					&& Arrays.equals( Arrays.copyOf( bytes, BinaryBundle.MAGIC.length ), BinaryBundle.MAGIC )){
+				result = BinaryBundle.readLazily( bytes );
+			} else {
+				result = JSONScanner.readLazily( new String( bytes ) );
+			}
+			if (result != null) return result;
+		} catch (Exception e) {
+			//data which can't be scanned, e.g. old libGDX JSON, falls back to a full read
+		}
+
+		return read( new ByteArrayInputStream( bytes ) );
+	}
+
+	private static InputStream decompressed( InputStream stream ) throws IOException {
+		if (!stream.markSupported()){
+			stream = new BufferedInputStream( stream, 2 );
+		}
+
+		//determines if we're reading a regular, or compressed file
+		stream.mark( 2 );
+		byte[] header = new byte[2];
+		stream.read( header );
+		stream.reset();
+
+		//GZIP header is 0x1f8b
+		if( header[ 0 ] == (byte) 0x1f && header[ 1 ] == (byte) 0x8b ) {
+			stream = new BufferedInputStream( new GZIPInputStream( stream, GZIP_BUFFER ), GZIP_BUFFER );
+		}
+		return stream;
+	}
+
+	private static Object readJSON( InputStream stream ) throws IOException, JSONException {
+
+		//JSONTokenizer only has a string-based constructor on Android/iOS
+		BufferedReader reader = new BufferedReader( new InputStreamReader( stream ));
+		StringBuilder jsonBuilder = new StringBuilder();
+
+		String line;
+		while ((line = reader.readLine()) != null) {
+			jsonBuilder.append(line);
+			jsonBuilder.append("\n");
+		}
+		String jsonString = jsonBuilder.toString();
+
+		Object json;
+		try {
+			json = new JSONTokener(jsonString).nextValue();
+		} catch (Exception e){
+			//TODO support for v1.1.X saves has been dropped, can probably remove this soon
+			//if the string can't be tokenized, it may be written by v1.1.X, which used libGDX JSON.
+			// Some of these are written in a 'minified' format, some have duplicate keys.
+			// We read them in with the libGDX JSON code, fix duplicates, write as full JSON
+			// and then try to read again with org.json
+			Game.reportException(e);
+			JsonValue gdxJSON = new JsonReader().parse(jsonString);
+			killDuplicateKeysInLibGDXJSON(gdxJSON);
+			json = new JSONTokener(gdxJSON.prettyPrint(JsonWriter.OutputType.json, 0)).nextValue();
+		}
+		reader.close();
+
+		return json;
+	}
+
 	private static void killDuplicateKeysInLibGDXJSON(JsonValue val){
 		HashSet<String> keys = new HashSet<>();
 		while(val != null) {
@@ -582,8 +746,26 @@ public class Bundle {
 		return write(bundle, stream, compressByDefault);
 	}
 
+	public static boolean writeBinary( Bundle bundle, OutputStream stream ){
+		return write(bundle, stream, compressByDefault, true);
+	}
+
 	public static boolean write( Bundle bundle, OutputStream stream, boolean compressed ) {
+		return write( bundle, stream, compressed, false );
+	}
+
+	//binary bundles are smaller and much faster to write and read, but are not human-readable
+	public static boolean write( Bundle bundle, OutputStream stream, boolean compressed, boolean binary ) {
+		bundle.materialize();
 		try {
+			if (binary) {
+				OutputStream out = compressed ? new GZIPOutputStream( stream, GZIP_BUFFER ) : stream;
+				out = new BufferedOutputStream( out, GZIP_BUFFER );
+				BinaryBundle.write( bundle.data, out );
+				out.close();
+				return true;
+			}
+
 			BufferedWriter writer;
 			if (compressed) writer = new BufferedWriter( new OutputStreamWriter( new GZIPOutputStream(stream, GZIP_BUFFER ) ) );
 			else writer = new BufferedWriter( new OutputStreamWriter( stream ) );
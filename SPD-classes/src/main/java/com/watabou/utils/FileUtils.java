@@ -28,12 +28,16 @@ import com.badlogic.gdx.Files;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.watabou.noosa.Game;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class FileUtils {
 	
@@ -80,6 +84,7 @@ public class FileUtils {
 	}
 
 	public static boolean cleanTempFiles( String dirName ){
+		awaitPendingWrites();
 		FileHandle dir = getFileHandle(dirName);
 		boolean foundTemp = false;
 		for (FileHandle file : dir.list()){
@@ -121,12 +126,14 @@ public class FileUtils {
 	}
 	
 	public static boolean fileExists( String name ){
+		awaitPendingWrites();
 		FileHandle file = getFileHandle( name );
 		return file.exists() && !file.isDirectory() && file.length() > 0;
 	}
 
 	//returns length of a file in bytes, or 0 if file does not exist
 	public static long fileLength( String name ){
+		awaitPendingWrites();
 		FileHandle file = getFileHandle( name );
 		if (!file.exists() || file.isDirectory()){
 			return 0;
@@ -136,12 +143,14 @@ public class FileUtils {
 	}
 	
 	public static boolean deleteFile( String name ){
+		awaitPendingWrites();
 		return getFileHandle( name ).delete();
 	}
 
 	//replaces a file with junk data, for as many bytes as given
 	//This is helpful as some cloud sync systems do not persist deleted, empty, or zeroed files
 	public static void overwriteFile( String name, int bytes ){
+		awaitPendingWrites();
 		byte[] data = new byte[bytes];
 		Arrays.fill(data, (byte)1);
 		getFileHandle( name ).writeBytes(data, false);
@@ -150,11 +159,13 @@ public class FileUtils {
 	// Directories
 	
 	public static boolean dirExists( String name ){
+		awaitPendingWrites();
 		FileHandle dir = getFileHandle( name );
 		return dir.exists() && dir.isDirectory();
 	}
 	
 	public static boolean deleteDir( String name ){
+		awaitPendingWrites();
 		FileHandle dir = getFileHandle( name );
 		
 		if (dir == null || !dir.isDirectory()){
@@ -165,6 +176,7 @@ public class FileUtils {
 	}
 
 	public static ArrayList<String> filesInDir( String name ){
+		awaitPendingWrites();
 		FileHandle dir = getFileHandle( name );
 		ArrayList result = new ArrayList();
 		if (dir != null && dir.isDirectory()){
@@ -179,11 +191,20 @@ public class FileUtils {
 	
 	//only works for base path
 	public static Bundle bundleFromFile( String fileName ) throws IOException{
+		return bundleFromFile( fileName, false );
+	}
+
+	//lazily read bundles only parse nested bundles when they are used, see Bundle.readLazily
+	public static Bundle bundleFromFile( String fileName, boolean lazy ) throws IOException{
+		awaitPendingWrites();
 		try {
 			FileHandle file = getFileHandle( fileName );
 			if (!file.exists() || file.isDirectory() || file.length() == 0) {
 				throw new IOException("file does not exist!");
 			}
+			if (lazy){
+				return Bundle.readLazily(file.read());
+			}
 			return bundleFromStream(file.read());
 		} catch (GdxRuntimeException e){
 			//game classes expect an IO exception, so wrap the GDX exception in that
@@ -201,6 +222,16 @@ public class FileUtils {
 	
 	//only works for base path
 	public static void bundleToFile( String fileName, Bundle bundle ) throws IOException{
+		bundleToFile( fileName, bundle, false );
+	}
+
+	//binary bundles are read transparently by bundleFromFile, just like JSON ones
+	public static void bundleToFile( String fileName, Bundle bundle, boolean binary ) throws IOException{
+		awaitPendingWrites();
+		writeBundleFile( fileName, bundle, binary );
+	}
+
+	private static void writeBundleFile( String fileName, Bundle bundle, boolean binary ) throws IOException{
 		try {
 			FileHandle file = getFileHandle(fileName);
 
@@ -208,11 +239,11 @@ public class FileUtils {
 			// This helps prevent save corruption if writing is interrupted
 			if (file.exists()){
 				FileHandle temp = getFileHandle(fileName + ".tmp");
-				bundleToStream(temp.write(false), bundle);
+				bundleToStream(temp.write(false), bundle, binary);
 				file.delete();
 				temp.moveTo(file);
 			} else {
-				bundleToStream(file.write(false), bundle);
+				bundleToStream(file.write(false), bundle, binary);
 			}
 
 		} catch (GdxRuntimeException e){
@@ -221,9 +252,117 @@ public class FileUtils {
 		}
 	}
 	
-	private static void bundleToStream( OutputStream output, Bundle bundle ) throws IOException{
-		Bundle.write( bundle, output );
+	private static void bundleToStream( OutputStream output, Bundle bundle, boolean binary ) throws IOException{
+		if (binary) Bundle.writeBinary( bundle, output );
+		else        Bundle.write( bundle, output );
 		output.close();
 	}
 
+	//rewrites an existing bundle file in the given format, the file may currently be in either format
+	public static void convertBundleFile( String fileName, boolean binary ) throws IOException{
+		bundleToFile( fileName, bundleFromFile( fileName ), binary );
+	}
+
+	// asynchronous bundle writing
+
+	//A bundle is already a snapshot of the game state, so encoding, compressing, and writing it
+	// can happen on a background thread while the game carries on.
+	//Writes happen one at a time, in the order they were requested.
+	//All other file operations here wait for pending writes first, so they never see a partial save.
+
+	private static final Object writeLock = new Object();
+	private static final LinkedHashMap<String, PendingWrite> queuedWrites = new LinkedHashMap<>();
+	private static int pendingWrites = 0; //queued writes, plus the one in progress
+	private static Thread writerThread;
+
+	//if the writer falls this far behind, callers wait for it rather than piling up more saves
+	private static final int MAX_PENDING_WRITES = 4;
+
+	private static class PendingWrite {
+		Bundle bundle;
+		boolean binary;
+		Callback onFailure;
+	}
+
+	//onFailure, which may be null, is run on the render thread if the write fails
+	public static void bundleToFileAsync( String fileName, Bundle bundle, boolean binary, Callback onFailure ){
+		synchronized (writeLock) {
+			PendingWrite write = queuedWrites.get( fileName );
+			if (write == null) {
+				while (pendingWrites >= MAX_PENDING_WRITES) {
+					//an interrupted caller stops waiting, but its save is still queued
+					if (!waitForWriter()) break;
+				}
+				write = new PendingWrite();
+				queuedWrites.put( fileName, write );
+				pendingWrites++;
+			}
+			//a newer save simply replaces a queued save of the same file that hasn't started yet
+			write.bundle = bundle;
+			write.binary = binary;
+			write.onFailure = onFailure;
+
+			if (writerThread == null) {
+				writerThread = new Thread( FileUtils::processWrites, "Bundle Writer" );
+				writerThread.setDaemon( true );
+				writerThread.start();
+			}
+			writeLock.notifyAll();
+		}
+	}
+
+	//blocks until all requested writes have finished, e.g. before the app is paused or closed
+	public static void awaitPendingWrites(){
+		if (Thread.currentThread() == writerThread) return;
+		synchronized (writeLock) {
+			while (pendingWrites > 0) {
+				if (!waitForWriter()) return;
+			}
+		}
+	}
+
+	//returns false if the waiting thread was interrupted, e.g. the actor thread being stopped.
+	//The interrupt flag is kept so that the thread's own code can respond to it.
+	private static boolean waitForWriter(){
+		try {
+			writeLock.wait();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static void processWrites(){
+		while (true) {
+			String fileName;
+			PendingWrite write;
+			synchronized (writeLock) {
+				while (queuedWrites.isEmpty()) {
+					//nothing should interrupt the writer, but if something does it keeps on writing
+					if (!waitForWriter()) Thread.interrupted();
+				}
+				Iterator<Map.Entry<String, PendingWrite>> it = queuedWrites.entrySet().iterator();
+				Map.Entry<String, PendingWrite> next = it.next();
+				it.remove();
+				fileName = next.getKey();
+				write = next.getValue();
+			}
+
+			try {
+				writeBundleFile( fileName, write.bundle, write.binary );
+			} catch (Exception e) {
+				Game.reportException( e );
+				if (write.onFailure != null) {
+					Game.runOnRenderThread( write.onFailure );
+				}
+			}
+
+			synchronized (writeLock) {
+				pendingWrites--;
+				writeLock.notifyAll();
+			}
+		}
+	}
+
 }
@@ -0,0 +1,179 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * Experienced Pixel Dungeon
+ * Copyright (C) 2019-2024 Trashbox Bobylev
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.utils;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+//A set of ints which doesn't box its contents, iterating in insertion order like a LinkedHashSet.
+//It also works as a Set<Integer>, so it can be used where a HashSet<Integer> was before,
+// but the int methods (add, contains, get) should be used when speed matters.
+public class IntSet extends AbstractSet<Integer> {
+
+	//values in insertion order
+	private int[] items;
+	private int size;
+
+	//open addressing table of indices into items, plus one. 0 marks an empty slot
+	private int[] table;
+	private int mask;
+
+	public IntSet(){
+		this( 16 );
+	}
+
+	public IntSet( int capacity ){
+		items = new int[Math.max( capacity, 4 )];
+		int tableSize = Integer.highestOneBit( Math.max( capacity, 4 ) * 2 - 1 ) * 2;
+		table = new int[tableSize];
+		mask = tableSize - 1;
+	}
+
+	private static int hash( int value ){
+		int h = value * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	//returns the table slot holding value, or the empty slot where it would go
+	private int slot( int value ){
+		int i = hash( value ) & mask;
+		while (table[i] != 0 && items[table[i] - 1] != value) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	public boolean add( int value ){
+		int i = slot( value );
+		if (table[i] != 0) return false;
+
+		if (size == items.length) {
+			items = Arrays.copyOf( items, size * 2 );
+		}
+		items[size++] = value;
+		table[i] = size;
+
+		//keep the table at most half full
+		if (size * 2 > table.length) {
+			rehash( table.length * 2 );
+		}
+		return true;
+	}
+
+	public boolean contains( int value ){
+		return table[slot( value )] != 0;
+	}
+
+	//removal shifts later values down, so this is O(n)
+	public boolean remove( int value ){
+		int i = slot( value );
+		if (table[i] == 0) return false;
+
+		int index = table[i] - 1;
+		System.arraycopy( items, index + 1, items, index, size - index - 1 );
+		size--;
+		rehash( table.length );
+		return true;
+	}
+
+	private void rehash( int tableSize ){
+		table = new int[tableSize];
+		mask = tableSize - 1;
+		for (int index = 0; index < size; index++) {
+			int i = hash( items[index] ) & mask;
+			while (table[i] != 0) {
+				i = (i + 1) & mask;
+			}
+			table[i] = index + 1;
+		}
+	}
+
+	//values are indexed in insertion order
+	public int get( int index ){
+		if (index >= size) {
+			throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + size );
+		}
+		return items[index];
+	}
+
+	public int[] toArray( int[] result ){
+		if (result == null || result.length < size) result = new int[size];
+		System.arraycopy( items, 0, result, 0, size );
+		return result;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		Arrays.fill( table, 0 );
+	}
+
+	// Set<Integer> compatibility
+
+	@Override
+	public boolean add( Integer value ) {
+		return add( value.intValue() );
+	}
+
+	@Override
+	public boolean contains( Object o ) {
+		return o instanceof Integer && contains( ((Integer) o).intValue() );
+	}
+
+	@Override
+	public boolean remove( Object o ) {
+		return o instanceof Integer && remove( ((Integer) o).intValue() );
+	}
+
+	@Override
+	public Iterator<Integer> iterator() {
+		return new Iterator<Integer>() {
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+
+			@Override
+			public Integer next() {
+				if (next >= size) throw new NoSuchElementException();
+				return items[next++];
+			}
+
+			@Override
+			public void remove() {
+				IntSet.this.remove( items[--next] );
+			}
+		};
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * Experienced Pixel Dungeon
+ * Copyright (C) 2019-2024 Trashbox Bobylev
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.utils;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.util.HashMap;
+
+//Reads JSON text lazily: an object's own values are parsed right away,
+// but nested objects and arrays are only scanned past, and parsed when first used.
+class JSONScanner {
+
+	private final String json;
+	private int pos;
+
+	private JSONScanner( String json, int pos ){
+		this.json = json;
+		this.pos = pos;
+	}
+
+	//returns null if the root isn't an object
+	static Bundle readLazily( String json ) throws JSONException {
+		JSONScanner scanner = new JSONScanner( json, 0 );
+		scanner.skipWhitespace();
+		if (scanner.json.charAt( scanner.pos ) != '{') {
+			return null;
+		}
+		return scanner.readObjectLazily();
+	}
+
+	private Bundle readObjectLazily() throws JSONException {
+		JSONObject object = new JSONObject();
+		HashMap<String, Bundle.Deferred> deferred = new HashMap<>();
+
+		expect( '{' );
+		skipWhitespace();
+		if (json.charAt( pos ) == '}') {
+			pos++;
+			return Bundle.lazy( object, deferred );
+		}
+
+		while (true) {
+			skipWhitespace();
+			int start = pos;
+			skipString();
+			String key = (String)parse( start, pos );
+
+			skipWhitespace();
+			expect( ':' );
+			skipWhitespace();
+
+			start = pos;
+			char c = json.charAt( pos );
+			skipValue();
+			if (c == '{' || c == '[') {
+				deferred.put( key, new Deferred( json, start, pos, c == '{' ) );
+			} else {
+				object.put( key, parse( start, pos ) );
+			}
+
+			skipWhitespace();
+			c = json.charAt( pos++ );
+			if (c == '}') {
+				return Bundle.lazy( object, deferred );
+			} else if (c != ',') {
+				throw new JSONException( "Expected , or } at " + (pos - 1) );
+			}
+		}
+	}
+
+	private void skipValue(){
+		char c = json.charAt( pos );
+		if (c == '"') {
+			skipString();
+		} else if (c == '{' || c == '[') {
+			int depth = 0;
+			do {
+				c = json.charAt( pos );
+				if (c == '"') {
+					skipString();
+					continue;
+				}
+				if (c == '{' || c == '[') depth++;
+				else if (c == '}' || c == ']') depth--;
+				pos++;
+			} while (depth > 0);
+		} else {
+			//numbers, booleans, and null run until the next delimiter
+			while (pos < json.length()) {
+				c = json.charAt( pos );
+				if (c == ',' || c == '}' || c == ']' || Character.isWhitespace( c )) break;
+				pos++;
+			}
+		}
+	}
+
+	private void skipString(){
+		pos++; //opening quote
+		while (true) {
+			char c = json.charAt( pos++ );
+			if (c == '\\') pos++;
+			else if (c == '"') return;
+		}
+	}
+
+	private void skipWhitespace(){
+		while (Character.isWhitespace( json.charAt( pos ) )) pos++;
+	}
+
+	private void expect( char c ) throws JSONException {
+		if (json.charAt( pos ) != c) {
+			throw new JSONException( "Expected " + c + " at " + pos );
+		}
+		pos++;
+	}
+
+	private Object parse( int start, int end ) throws JSONException {
+		return new JSONTokener( json.substring( start, end ) ).nextValue();
+	}
+
+	private static class Deferred extends Bundle.Deferred {
+
+		private final String json;
+		private final int start;
+		private final int end;
+
+		Deferred( String json, int start, int end, boolean isObject ){
+			super( isObject );
+			this.json = json;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		Object read() throws JSONException {
+			return new JSONTokener( json.substring( start, end ) ).nextValue();
+		}
+
+		@Override
+		Bundle readLazily() throws JSONException {
+			return new JSONScanner( json, start ).readObjectLazily();
+		}
+	}
+}
@@ -28,19 +28,13 @@ import java.util.Arrays;
 import java.util.LinkedList;
 
 public class PathFinder {
-	
-	public static int[] distance;
-	private static int[] maxVal;
-	
-	private static boolean[] goals;
-	private static int[] queue;
-	private static boolean[] queued; //currently only used in getStepBack, other can piggyback on distance
-	
-	private static int size = 0;
-	private static int width = 0;
 
-	private static int[] dir;
-	private static int[] dirLR;
+	//the context used by the static methods below, which work on the current level.
+	//Searches which run off the actor thread or on other maps should use their own Context.
+	private static final Context DEFAULT = new Context( 0, 0 );
+
+	//alias of the default context's distance map
+	public static int[] distance;
 
 	//performance-light shortcuts for some common pathfinder cases
 	//they are in array-access order for increased memory performance
@@ -54,20 +48,9 @@ public class PathFinder {
 	public static int[] CIRCLE8;
 	
 	public static void setMapSize( int width, int height ) {
-		
-		PathFinder.width = width;
-		PathFinder.size = width * height;
-		
-		distance = new int[size];
-		goals = new boolean[size];
-		queue = new int[size];
-		queued = new boolean[size];
-
-		maxVal = new int[size];
-		Arrays.fill(maxVal, Integer.MAX_VALUE);
 
-		dir = new int[]{-1, +1, -width, +width, -width-1, -width+1, +width-1, +width+1};
-		dirLR = new int[]{-1-width, -1, -1+width, -width, +width, +1-width, +1, +1+width};
+		DEFAULT.setMapSize( width, height );
+		distance = DEFAULT.distance;
 
 		NEIGHBOURS4 = new int[]{-width, -1, +1, +width};
 		NEIGHBOURS8 = new int[]{-width-1, -width, -width+1, -1, +1, +width-1, +width, +width+1};
@@ -78,338 +61,547 @@ public class PathFinder {
 	}
 
 	public static Path find( int from, int to, boolean[] passable ) {
+		return DEFAULT.find( from, to, passable );
+	}
+
+	public static Path find( int from, int to, boolean[] passable, int mapStamp ) {
+		return DEFAULT.find( from, to, passable, mapStamp );
+	}
+
+	public static int getStep( int from, int to, boolean[] passable ) {
+		return DEFAULT.getStep( from, to, passable );
+	}
+
+	public static int getStep( int from, int to, boolean[] passable, int mapStamp ) {
+		return DEFAULT.getStep( from, to, passable, mapStamp );
+	}
+
+	public static int getStepBack( int cur, int from, int lookahead, boolean[] passable, boolean canApproachFromPos ) {
+		return DEFAULT.getStepBack( cur, from, lookahead, passable, canApproachFromPos );
+	}
+
+	public static void buildDistanceMap( int to, boolean[] passable, int limit ) {
+		DEFAULT.buildDistanceMap( to, passable, limit );
+	}
+
+	public static void buildDistanceMap( int to, boolean[] passable ) {
+		DEFAULT.buildDistanceMap( to, passable );
+	}
 
-		if (!buildDistanceMap( from, to, passable )) {
-			return null;
+	//Holds all the state of a search, so that searches using different contexts
+	//can safely run at the same time, on different maps or different threads.
+	public static class Context {
+
+		public int[] distance;
+		private int[] maxVal;
+
+		private boolean[] goals;
+		private int[] queue;
+		private boolean[] queued; //currently only used in getStepBack, other can piggyback on distance
+
+		private int size = 0;
+		private int width = 0;
+
+		private int[] dir;
+		private int[] dirLR;
+
+		//scratch space for point to point searches. A cell's entry in pathDist is only valid if its
+		//pathStamp matches the current generation, so searches never need to reset the whole map
+		private int[] pathDist;
+		private int[] pathStamp;
+		private int pathGen = 0;
+
+		//binary heap of open cells for A*, ordered by estimated total distance
+		private int[] openCells;
+		private int[] openCost;
+		private int[] openDist;
+		private int openSize;
+
+		//full distance field toward one target, shared by all searches toward that target
+		//which use the same passable map, e.g. several mobs hunting the hero in the same room.
+		//Maps are identified by a stamp from the caller, which must change whenever the map does.
+		//A stamp of 0 means the map is unknown, and is never shared.
+		private int fieldTarget = -1;
+		private int fieldStamp = 0;
+		private int[] fieldDist;
+
+		//the most recent A* query, used to decide when building a shared field is worthwhile
+		private int lastTarget = -1;
+		private int lastStamp = 0;
+
+		public Context( int width, int height ){
+			setMapSize( width, height );
 		}
+
+		public void setMapSize( int width, int height ) {
+
+			this.width = width;
+			this.size = width * height;
+
+			distance = new int[size];
+			goals = new boolean[size];
+			queue = new int[size];
+			queued = new boolean[size];
+
+			maxVal = new int[size];
+			Arrays.fill(maxVal, Integer.MAX_VALUE);
+
+			dir = new int[]{-1, +1, -width, +width, -width-1, -width+1, +width-1, +width+1};
+			dirLR = new int[]{-1-width, -1, -1+width, -width, +width, +1-width, +1, +1+width};
+
+			pathDist = new int[size];
+			pathStamp = new int[size];
+			pathGen = 0;
+
+			openCells = new int[size];
+			openCost = new int[size];
+			openDist = new int[size];
+			openSize = 0;
+
+			fieldTarget = -1;
+			fieldStamp = 0;
+			fieldDist = new int[size];
+
+			lastTarget = -1;
+			lastStamp = 0;
+		}
+
+		public Path find( int from, int to, boolean[] passable ) {
+			return find( from, to, passable, 0 );
+		}
+
+		public Path find( int from, int to, boolean[] passable, int mapStamp ) {
+
+			int[] stamp = searchToward( from, to, passable, mapStamp );
+			if (stamp == FAILED) {
+				return null;
+			}
+			int[] dist = stamp == null ? fieldDist : pathDist;
 		
-		Path result = new Path();
-		int s = from;
+			Path result = new Path();
+			int s = from;
+
+			// From the starting position we are moving downwards,
+			// until we reach the ending point
+			do {
+				s = stepDown( s, dist, stamp );
+				if (s == -1) {
+					return null;
+				}
+				result.add( s );
+			} while (s != to);
+		
+			return result;
+		}
+	
+		public int getStep( int from, int to, boolean[] passable ) {
+			return getStep( from, to, passable, 0 );
+		}
+
+		public int getStep( int from, int to, boolean[] passable, int mapStamp ) {
+
+			int[] stamp = searchToward( from, to, passable, mapStamp );
+			if (stamp == FAILED) {
+				return -1;
+			}
+		
+			// From the starting position we are making one step downwards
+			return stepDown( from, stamp == null ? fieldDist : pathDist, stamp );
+		}
+
+		private static final int[] FAILED = new int[0];
+
+		//Prepares distances toward a target for a path from a starting cell.
+		//Returns FAILED if there is no path, null if the shared distance field should be used,
+		//or pathStamp if the distances of a fresh A* search should be used.
+		private int[] searchToward( int from, int to, boolean[] passable, int mapStamp ){
+
+			if (from == to) {
+				return FAILED;
+			}
+
+			if (mapStamp != 0) {
+				if (fieldTarget == to && fieldStamp == mapStamp) {
+					return null;
+				}
+
+				//a second search toward the same target with the same map is a good sign that more
+				//will follow this turn, so flood the whole map once and share it between them
+				if (lastTarget == to && lastStamp == mapStamp) {
+					buildDistanceMap( to, passable );
+					System.arraycopy( distance, 0, fieldDist, 0, size );
+					fieldTarget = to;
+					fieldStamp = mapStamp;
+					return null;
+				}
+			}
+
+			lastTarget = to;
+			lastStamp = mapStamp;
+			return searchAStar( from, to, passable ) ? pathStamp : FAILED;
+		}
+
+		//returns the neighbour of a cell that is closest to the target, or -1 if none are closer
+		private int stepDown( int s, int[] dist, int[] stamp ){
+
+			int minD = stamp == null || stamp[s] == pathGen ? dist[s] : Integer.MAX_VALUE;
+			int mins = -1;
 
-		// From the starting position we are moving downwards,
-		// until we reach the ending point
-		do {
-			int minD = distance[s];
-			int mins = s;
-			
 			for (int i=0; i < dir.length; i++) {
-				
+
 				int n = s + dir[i];
-				
-				int thisD = distance[n];
+
+				if (n < 0 || n >= size || (stamp != null && stamp[n] != pathGen)) {
+					continue;
+				}
+				int thisD = dist[n];
 				if (thisD < minD) {
 					minD = thisD;
 					mins = n;
 				}
 			}
-			s = mins;
-			result.add( s );
-		} while (s != to);
-		
-		return result;
-	}
-	
-	public static int getStep( int from, int to, boolean[] passable ) {
-		
-		if (!buildDistanceMap( from, to, passable )) {
-			return -1;
-		}
-		
-		// From the starting position we are making one step downwards
-		int minD = distance[from];
-		int best = from;
-		
-		int step, stepD;
-		
-		for (int i=0; i < dir.length; i++) {
 
-			if ((stepD = distance[step = from + dir[i]]) < minD) {
-				minD = stepD;
-				best = step;
-			}
+			return mins;
 		}
 
-		return best;
-	}
-	
-	public static int getStepBack( int cur, int from, int lookahead, boolean[] passable, boolean canApproachFromPos ) {
+		//A* search outward from the target toward the starting cell, so that distances are relative
+		//to the target just like a distance map. Stops as soon as the starting cell is reached.
+		private boolean searchAStar( int from, int to, boolean[] passable ){
 
-		int d = buildEscapeDistanceMap( cur, from, lookahead, passable );
-		if (d == 0) return -1;
+			if (++pathGen == Integer.MAX_VALUE){
+				Arrays.fill(pathStamp, 0);
+				pathGen = 1;
+			}
+			openSize = 0;
 
-		if (!canApproachFromPos) {
-			//We can't approach the position we are retreating from
-			//re-calculate based on this, and reduce the target distance if need-be
-			int head = 0;
-			int tail = 0;
+			int fromX = from % width;
+			int fromY = from / width;
 
-			int newD = distance[cur];
-			BArray.setFalse(queued);
+			pathStamp[to] = pathGen;
+			pathDist[to] = 0;
+			pushOpen( to, 0, heuristic( to, fromX, fromY ) );
 
-			queue[tail++] = cur;
-			queued[cur] = true;
+			while (openSize > 0) {
 
-			while (head < tail) {
-				int step = queue[head++];
+				int step = openCells[0];
+				int stepDist = openDist[0];
+				popOpen();
 
-				if (distance[step] > newD) {
-					newD = distance[step];
+				//skip entries which were superseded by a shorter route
+				if (stepDist != pathDist[step]) {
+					continue;
+				}
+				if (step == from) {
+					return true;
 				}
+				int nextDistance = stepDist + 1;
 
 				int start = (step % width == 0 ? 3 : 0);
-				int end = ((step + 1) % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
 				for (int i = start; i < dirLR.length - end; i++) {
 
 					int n = step + dirLR[i];
-					if (n >= 0 && n < size && passable[n]) {
-						if (distance[n] < distance[cur]) {
-							passable[n] = false;
-						} else if (distance[n] >= distance[step] && !queued[n]) {
-							// Add to queue
-							queue[tail++] = n;
-							queued[n] = true;
+					if (n == from || (n >= 0 && n < size && passable[n])) {
+						if (pathStamp[n] != pathGen || pathDist[n] > nextDistance) {
+							pathStamp[n] = pathGen;
+							pathDist[n] = nextDistance;
+							pushOpen( n, nextDistance, nextDistance + heuristic( n, fromX, fromY ) );
 						}
 					}
 				}
-
 			}
 
-			d = Math.min(newD, d);
+			return false;
 		}
 
-		for (int i=0; i < size; i++) {
-			goals[i] = distance[i] == d;
+		//number of 8-way steps between two cells, ignoring terrain. Never overestimates.
+		private int heuristic( int cell, int x, int y ){
+			return Math.max( Math.abs( cell % width - x ), Math.abs( cell / width - y ) );
 		}
-		if (!buildDistanceMap( cur, goals, passable )) {
-			return -1;
+
+		//when costs are equal, cells further from the target come first, as they are closer to the goal
+		private boolean openBefore( int a, int b ){
+			return openCost[a] < openCost[b] || (openCost[a] == openCost[b] && openDist[a] > openDist[b]);
 		}
 
-		int s = cur;
-		
-		// From the starting position we are making one step downwards
-		int minD = distance[s];
-		int mins = s;
-		
-		for (int i=0; i < dir.length; i++) {
+		private void pushOpen( int cell, int dist, int cost ){
+			if (openSize == openCells.length){
+				openCells = Arrays.copyOf( openCells, openSize*2 );
+				openCost = Arrays.copyOf( openCost, openSize*2 );
+				openDist = Arrays.copyOf( openDist, openSize*2 );
+			}
+			int i = openSize++;
+			openCells[i] = cell;
+			openCost[i] = cost;
+			openDist[i] = dist;
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+				if (!openBefore( i, parent )) break;
+				swapOpen( i, parent );
+				i = parent;
+			}
+		}
 
-			int n = s + dir[i];
-			int thisD = distance[n];
-			
-			if (thisD < minD) {
-				minD = thisD;
-				mins = n;
+		private void popOpen(){
+			openSize--;
+			if (openSize == 0) return;
+			openCells[0] = openCells[openSize];
+			openCost[0] = openCost[openSize];
+			openDist[0] = openDist[openSize];
+			int i = 0;
+			while (true) {
+				int child = 2*i + 1;
+				if (child >= openSize) break;
+				if (child + 1 < openSize && openBefore( child + 1, child )) {
+					child++;
+				}
+				if (!openBefore( child, i )) break;
+				swapOpen( i, child );
+				i = child;
 			}
 		}
 
-		return mins;
-	}
-	
-	private static boolean buildDistanceMap( int from, int to, boolean[] passable ) {
-		
-		if (from == to) {
-			return false;
+		private void swapOpen( int a, int b ){
+			int t = openCells[a]; openCells[a] = openCells[b]; openCells[b] = t;
+			t = openCost[a]; openCost[a] = openCost[b]; openCost[b] = t;
+			t = openDist[a]; openDist[a] = openDist[b]; openDist[b] = t;
 		}
+	
+		public int getStepBack( int cur, int from, int lookahead, boolean[] passable, boolean canApproachFromPos ) {
 
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
-		
-		boolean pathFound = false;
-		
-		int head = 0;
-		int tail = 0;
+			int d = buildEscapeDistanceMap( cur, from, lookahead, passable );
+			if (d == 0) return -1;
+
+			if (!canApproachFromPos) {
+				//We can't approach the position we are retreating from
+				//re-calculate based on this, and reduce the target distance if need-be
+				int head = 0;
+				int tail = 0;
+
+				int newD = distance[cur];
+				BArray.setFalse(queued);
+
+				queue[tail++] = cur;
+				queued[cur] = true;
+
+				while (head < tail) {
+					int step = queue[head++];
+
+					if (distance[step] > newD) {
+						newD = distance[step];
+					}
+
+					int start = (step % width == 0 ? 3 : 0);
+					int end = ((step + 1) % width == 0 ? 3 : 0);
+					for (int i = start; i < dirLR.length - end; i++) {
+
+						int n = step + dirLR[i];
+						if (n >= 0 && n < size && passable[n]) {
+							if (distance[n] < distance[cur]) {
+								passable[n] = false;
+							} else if (distance[n] >= distance[step] && !queued[n]) {
+								// Add to queue
+								queue[tail++] = n;
+								queued[n] = true;
+							}
+						}
+					}
+
+				}
+
+				d = Math.min(newD, d);
+			}
+
+			for (int i=0; i < size; i++) {
+				goals[i] = distance[i] == d;
+			}
+			if (!buildDistanceMap( cur, goals, passable )) {
+				return -1;
+			}
+
+			int s = cur;
 		
-		// Add to queue
-		queue[tail++] = to;
-		distance[to] = 0;
+			// From the starting position we are making one step downwards
+			int minD = distance[s];
+			int mins = s;
 		
-		while (head < tail) {
-			
-			// Remove from queue
-			int step = queue[head++];
-			if (step == from) {
-				pathFound = true;
-				break;
-			}
-			int nextDistance = distance[step] + 1;
+			for (int i=0; i < dir.length; i++) {
+
+				int n = s + dir[i];
+				int thisD = distance[n];
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
-
-				int n = step + dirLR[i];
-				if (n == from || (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance))) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+				if (thisD < minD) {
+					minD = thisD;
+					mins = n;
 				}
-					
 			}
+
+			return mins;
 		}
-		
-		return pathFound;
-	}
 	
-	public static void buildDistanceMap( int to, boolean[] passable, int limit ) {
+		public void buildDistanceMap( int to, boolean[] passable, int limit ) {
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 		
-		int head = 0;
-		int tail = 0;
+			int head = 0;
+			int tail = 0;
 		
-		// Add to queue
-		queue[tail++] = to;
-		distance[to] = 0;
+			// Add to queue
+			queue[tail++] = to;
+			distance[to] = 0;
 		
-		while (head < tail) {
-			
-			// Remove from queue
-			int step = queue[head++];
+			while (head < tail) {
 			
-			int nextDistance = distance[step] + 1;
-			if (nextDistance > limit) {
-				return;
-			}
+				// Remove from queue
+				int step = queue[head++];
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
-
-				int n = step + dirLR[i];
-				if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+				int nextDistance = distance[step] + 1;
+				if (nextDistance > limit) {
+					return;
 				}
+			
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
+
+					int n = step + dirLR[i];
+					if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
 					
+				}
 			}
 		}
-	}
 	
-	private static boolean buildDistanceMap( int from, boolean[] to, boolean[] passable ) {
+		private boolean buildDistanceMap( int from, boolean[] to, boolean[] passable ) {
 		
-		if (to[from]) {
-			return false;
-		}
+			if (to[from]) {
+				return false;
+			}
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 		
-		boolean pathFound = false;
+			boolean pathFound = false;
 		
-		int head = 0;
-		int tail = 0;
+			int head = 0;
+			int tail = 0;
 		
-		// Add to queue
-		for (int i=0; i < size; i++) {
-			if (to[i]) {
-				queue[tail++] = i;
-				distance[i] = 0;
+			// Add to queue
+			for (int i=0; i < size; i++) {
+				if (to[i]) {
+					queue[tail++] = i;
+					distance[i] = 0;
+				}
 			}
-		}
 		
-		while (head < tail) {
-			
-			// Remove from queue
-			int step = queue[head++];
-			if (step == from) {
-				pathFound = true;
-				break;
-			}
-			int nextDistance = distance[step] + 1;
+			while (head < tail) {
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
-
-				int n = step + dirLR[i];
-				if (n == from || (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance))) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
+				// Remove from queue
+				int step = queue[head++];
+				if (step == from) {
+					pathFound = true;
+					break;
 				}
+				int nextDistance = distance[step] + 1;
+			
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
+
+					int n = step + dirLR[i];
+					if (n == from || (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance))) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
 					
+				}
 			}
-		}
 		
-		return pathFound;
-	}
+			return pathFound;
+		}
 
-	//the lookahead is the target number of cells to retreat toward from our current position's
-	// distance from the position we are escaping from. Returns the highest found distance, up to the lookahead
-	private static int buildEscapeDistanceMap( int cur, int from, int lookAhead, boolean[] passable ) {
+		//the lookahead is the target number of cells to retreat toward from our current position's
+		// distance from the position we are escaping from. Returns the highest found distance, up to the lookahead
+		private int buildEscapeDistanceMap( int cur, int from, int lookAhead, boolean[] passable ) {
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 		
-		int destDist = Integer.MAX_VALUE;
+			int destDist = Integer.MAX_VALUE;
 		
-		int head = 0;
-		int tail = 0;
+			int head = 0;
+			int tail = 0;
 		
-		// Add to queue
-		queue[tail++] = from;
-		distance[from] = 0;
+			// Add to queue
+			queue[tail++] = from;
+			distance[from] = 0;
 		
-		int dist = 0;
+			int dist = 0;
 		
-		while (head < tail) {
+			while (head < tail) {
 			
-			// Remove from queue
-			int step = queue[head++];
-			dist = distance[step];
+				// Remove from queue
+				int step = queue[head++];
+				dist = distance[step];
 			
-			if (dist > destDist) {
-				return destDist;
-			}
+				if (dist > destDist) {
+					return destDist;
+				}
 			
-			if (step == cur) {
-				destDist = dist + lookAhead;
-			}
+				if (step == cur) {
+					destDist = dist + lookAhead;
+				}
 			
-			int nextDistance = dist + 1;
+				int nextDistance = dist + 1;
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
-
-				int n = step + dirLR[i];
-				if (n >= 0 && n < size && passable[n] && distance[n] > nextDistance) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
-				}
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
+
+					int n = step + dirLR[i];
+					if (n >= 0 && n < size && passable[n] && distance[n] > nextDistance) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
 					
+				}
 			}
-		}
 		
-		return dist;
-	}
+			return dist;
+		}
 	
-	public static void buildDistanceMap( int to, boolean[] passable ) {
+		public void buildDistanceMap( int to, boolean[] passable ) {
 		
-		System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
+			System.arraycopy(maxVal, 0, distance, 0, maxVal.length);
 		
-		int head = 0;
-		int tail = 0;
+			int head = 0;
+			int tail = 0;
 		
-		// Add to queue
-		queue[tail++] = to;
-		distance[to] = 0;
+			// Add to queue
+			queue[tail++] = to;
+			distance[to] = 0;
 		
-		while (head < tail) {
+			while (head < tail) {
 			
-			// Remove from queue
-			int step = queue[head++];
-			int nextDistance = distance[step] + 1;
+				// Remove from queue
+				int step = queue[head++];
+				int nextDistance = distance[step] + 1;
 			
-			int start = (step % width == 0 ? 3 : 0);
-			int end   = ((step+1) % width == 0 ? 3 : 0);
-			for (int i = start; i < dirLR.length - end; i++) {
-
-				int n = step + dirLR[i];
-				if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
-					// Add to queue
-					queue[tail++] = n;
-					distance[n] = nextDistance;
-				}
+				int start = (step % width == 0 ? 3 : 0);
+				int end   = ((step+1) % width == 0 ? 3 : 0);
+				for (int i = start; i < dirLR.length - end; i++) {
+
+					int n = step + dirLR[i];
+					if (n >= 0 && n < size && passable[n] && (distance[n] > nextDistance)) {
+						// Add to queue
+						queue[tail++] = n;
+						distance[n] = nextDistance;
+					}
 					
+				}
 			}
 		}
 	}
@@ -33,27 +33,40 @@ public class Random {
 	//we store a stack of random number generators, which may be seeded deliberately or randomly.
 	//top of the stack is what is currently being used to generate new numbers.
 	//the base generator is always created with no seed, and cannot be popped.
-	private static ArrayDeque<java.util.Random> generators;
+	//Pushing and popping is synchronized, but drawing numbers only reads the top of the stack.
+	private static Generator[] generators = new Generator[8];
+	private static int size;
+	private static volatile Generator current;
 	static {
 		resetGenerators();
 	}
 
 	public static synchronized void resetGenerators(){
-		generators = new ArrayDeque<>();
-		generators.push(new java.util.Random());
+		Arrays.fill(generators, null);
+		size = 0;
+		pushGenerator(new Generator());
 	}
 
 	public static synchronized void pushGenerator(){
-		generators.push( new java.util.Random() );
+		pushGenerator( new Generator() );
 	}
 
 	public static synchronized void pushGenerator( long seed ){
-		generators.push( new java.util.Random( scrambleSeed(seed) ) );
+		pushGenerator( new Generator( seed ) );
+	}
+
+	//lets a generator that's been handed around be used by code that draws from the stack
+	public static synchronized void pushGenerator( Generator generator ){
+		if (size == generators.length){
+			generators = Arrays.copyOf(generators, size*2);
+		}
+		generators[size++] = generator;
+		current = generator;
 	}
 
 	//scrambles a given seed, this helps eliminate patterns between the outputs of similar seeds
 	//Algorithm used is MX3 by Jon Maiga (jonkagstrom.com), CC0 license.
-	private static synchronized long scrambleSeed( long seed ){
+	private static long scrambleSeed( long seed ){
 		seed ^= seed >>> 32;
 		seed *= 0xbea225f9eb34556dL;
 		seed ^= seed >>> 29;
@@ -65,233 +78,412 @@ public class Random {
 	}
 
 	public static synchronized void popGenerator(){
-		if (generators.size() == 1){
+		if (size == 1){
 			Game.reportException( new RuntimeException("tried to pop the last random number generator!"));
 		} else {
-			generators.pop();
+			generators[--size] = null;
+			current = generators[size-1];
 		}
 	}
 
+	//returns the generator currently at the top of the stack
+	public static Generator generator(){
+		return current;
+	}
+
 	//returns a uniformly distributed float in the range [0, 1)
-	public static synchronized float Float() {
-		return generators.peek().nextFloat();
+	public static float Float() {
+		return current.Float();
 	}
 
 	//returns a uniformly distributed float in the range [0, max)
 	public static float Float( float max ) {
-		return Float() * max;
+		return current.Float( max );
 	}
 
 	//returns a uniformly distributed float in the range [min, max)
 	public static float Float( float min, float max ) {
-		return min + Float(max - min);
+		return current.Float( min, max );
 	}
 	
 	//returns a triangularly distributed float in the range [min, max)
 	public static float NormalFloat( float min, float max ) {
-		return min + ((Float(max - min) + Float(max - min))/2f);
+		return current.NormalFloat( min, max );
 	}
 
 	//returns a uniformly distributed int in the range [-2^31, 2^31)
-	public static synchronized int Int() {
-		return generators.peek().nextInt();
+	public static int Int() {
+		return current.Int();
 	}
 
 	//returns a uniformly distributed double in the range [0, 1)
-	public static synchronized double Double() {
-		return generators.peek().nextDouble();
+	public static double Double() {
+		return current.Double();
 	}
 
 	//returns a uniformly distributed double in the range [0, max)
 	public static double Double( double max ) {
-		return Double() * max;
+		return current.Double( max );
 	}
 
 	//returns a uniformly distributed double in the range [min, max)
 	public static double Double( double min, double max ) {
-		return min + Double(max - min);
+		return current.Double( min, max );
 	}
 
 	//returns a triangularly distributed double in the range [min, max)
 	public static double NormalDouble( double min, double max ) {
-		return min + ((Double(max - min) + Double(max - min))/2f);
+		return current.NormalDouble( min, max );
 	}
 
 
 	//returns a uniformly distributed int in the range [0, max)
-	public static synchronized int Int( int max ) {
-		return max > 0 ? generators.peek().nextInt(max) : 0;
+	public static int Int( int max ) {
+		return current.Int( max );
 	}
 
 	//returns a uniformly distributed int in the range [min, max)
 	public static int Int( int min, int max ) {
-		return min + Int(max - min);
+		return current.Int( min, max );
 	}
 
 	//returns a uniformly distributed int in the range [min, max]
 	public static int IntRange( int min, int max ) {
-		return min + Int(max - min + 1);
+		return current.IntRange( min, max );
 	}
 
 	//returns a triangularly distributed int in the range [min, max]
 	//this makes results more likely as they get closer to the middle of the range
 	public static int NormalIntRange( int min, int max ) {
-		return min + (int)((Float() + Float()) * (max - min + 1) / 2f);
+		return current.NormalIntRange( min, max );
 	}
 
 	//returns an inverse triangularly distributed int in the range [min, max]
 	//this makes results more likely as they get further from the middle of the range
 	public static int InvNormalIntRange( int min, int max ){
-		float roll1 = Float(), roll2 = Float();
-		if (Math.abs(roll1-0.5f) >= Math.abs(roll2-0.5f)){
-			return min + (int)(roll1*(max - min + 1));
-		} else {
-			return min + (int)(roll2*(max - min + 1));
-		}
+		return current.InvNormalIntRange( min, max );
 	}
 
 	//returns a uniformly distributed long in the range [-2^63, 2^63)
-	public static synchronized long Long() {
-		return generators.peek().nextLong();
+	public static long Long() {
+		return current.Long();
 	}
 
 	//returns a mostly uniformly distributed long in the range [0, max)
 	public static long Long( long max ) {
-		long result = Long();
-		if (result < 0) result += Long.MAX_VALUE;
-		//modulo isn't perfect, but as long as max is reasonably below 2^63 it's close enough
-		return result % max;
+		return current.Long( max );
 	}
 
 	public static long Long( long min, long max ) {
-		return min + Long(max - min);
+		return current.Long( min, max );
 	}
 
 	//returns a uniformly distributed int in the range [min, max]
 	public static long LongRange( long min, long max ) {
-		return min + Long(max - min + 1);
+		return current.LongRange( min, max );
 	}
 
 	//returns a triangularly distributed int in the range [min, max]
 	public static long NormalLongRange( long min, long max ) {
-		return min + (int)((Float() + Float()) * (max - min + 1) / 2f);
+		return current.NormalLongRange( min, max );
 	}
 
 	//returns an inverse triangularly distributed int in the range [min, max]
 	//this makes results more likely as they get further from the middle of the range
 	public static long InvNormalLongRange( long min, long max ){
-		float roll1 = Float(), roll2 = Float();
-		if (Math.abs(roll1-0.5f) >= Math.abs(roll2-0.5f)){
-			return min + (int)(roll1*(max - min + 1));
-		} else {
-			return min + (int)(roll2*(max - min + 1));
-		}
+		return current.InvNormalLongRange( min, max );
 	}
 
 	//returns an index from chances, the probability of each index is the weight values in changes
 	public static int chances( float[] chances ) {
-		
-		int length = chances.length;
-		
-		float sum = 0;
-		for (int i=0; i < length; i++) {
-			sum += chances[i];
-		}
-		
-		float value = Float( sum );
-		sum = 0;
-		for (int i=0; i < length; i++) {
-			sum += chances[i];
-			if (value < sum) {
-				return i;
-			}
-		}
-		
-		return -1;
+		return current.chances( chances );
 	}
 	
-	@SuppressWarnings("unchecked")
 	//returns a key element from chances, the probability of each key is the weight value it maps to
 	public static <K> K chances( HashMap<K,Float> chances ) {
-		
-		int size = chances.size();
-
-		Object[] values = chances.keySet().toArray();
-		float[] probs = new float[size];
-		float sum = 0;
-		for (int i=0; i < size; i++) {
-			probs[i] = chances.get( values[i] );
-			sum += probs[i];
-		}
-		
-		if (sum <= 0) {
-			return null;
-		}
-		
-		float value = Float( sum );
-		
-		sum = probs[0];
-		for (int i=0; i < size; i++) {
-			if (value < sum) {
-				return (K)values[i];
-			}
-			sum += probs[i + 1];
-		}
-		
-		return null;
+		return current.chances( chances );
 	}
 	
 	public static int index( Collection<?> collection ) {
-		return Int(collection.size());
+		return current.index( collection );
 	}
 
 	@SafeVarargs
 	public static<T> T oneOf(T... array ) {
-		return array[Int(array.length)];
+		return current.element( array );
 	}
 	
 	public static<T> T element( T[] array ) {
-		return element( array, array.length );
+		return current.element( array );
 	}
 	
 	public static<T> T element( T[] array, int max ) {
-		return array[Int(max)];
+		return current.element( array, max );
 	}
 	
-	@SuppressWarnings("unchecked")
 	public static<T> T element( Collection<? extends T> collection ) {
-		int size = collection.size();
-		return size > 0 ?
-			(T)collection.toArray()[Int( size )] :
-			null;
+		return current.element( collection );
 	}
 
-	public synchronized static<T> void shuffle( List<?extends T> list){
-		Collections.shuffle(list, generators.peek());
+	public static<T> void shuffle( List<?extends T> list){
+		current.shuffle( list );
 	}
 	
 	public static<T> void shuffle( T[] array ) {
-		for (int i=0; i < array.length - 1; i++) {
-			int j = Int( i, array.length );
-			if (j != i) {
-				T t = array[i];
-				array[i] = array[j];
-				array[j] = t;
-			}
-		}
+		current.shuffle( array );
 	}
 	
 	public static<U,V> void shuffle( U[] u, V[]v ) {
-		for (int i=0; i < u.length - 1; i++) {
-			int j = Int( i, u.length );
-			if (j != i) {
-				U ut = u[i];
-				u[i] = u[j];
-				u[j] = ut;
-				
-				V vt = v[i];
-				v[i] = v[j];
-				v[j] = vt;
+		current.shuffle( u, v );
+	}
+
+	//A single stream of random numbers, which can be handed to code directly instead of being
+	// pushed onto the stack, e.g. to keep level generation, loot, or combat rolls separate.
+	//Output is identical to java.util.Random's for the same (scrambled) seed, so seeded runs are unchanged,
+	// but the state is a plain field rather than an atomic one, so a generator isn't thread-safe by itself.
+	public static class Generator extends java.util.Random {
+
+		private static final long MULTIPLIER = 0x5DEECE66DL;
+		private static final long ADDEND = 0xBL;
+		private static final long MASK = (1L << 48) - 1;
+
+		private long state;
+
+		public Generator() {
+			super();
+		}
+
+		public Generator( long seed ) {
+			super( scrambleSeed( seed ) );
+		}
+
+		@Override
+		public synchronized void setSeed( long seed ) {
+			super.setSeed( seed );
+			state = (seed ^ MULTIPLIER) & MASK;
+		}
+
+		@Override
+		protected int next( int bits ) {
+			state = (state * MULTIPLIER + ADDEND) & MASK;
+			return (int)(state >>> (48 - bits));
+		}
+
+		//returns a uniformly distributed float in the range [0, 1)
+		public float Float() {
+			return nextFloat();
+		}
+
+		//returns a uniformly distributed float in the range [0, max)
+		public float Float( float max ) {
+			return Float() * max;
+		}
+
+		//returns a uniformly distributed float in the range [min, max)
+		public float Float( float min, float max ) {
+			return min + Float(max - min);
+		}
+
+		//returns a triangularly distributed float in the range [min, max)
+		public float NormalFloat( float min, float max ) {
+			return min + ((Float(max - min) + Float(max - min))/2f);
+		}
+
+		//returns a uniformly distributed int in the range [-2^31, 2^31)
+		public int Int() {
+			return nextInt();
+		}
+
+		//returns a uniformly distributed double in the range [0, 1)
+		public double Double() {
+			return nextDouble();
+		}
+
+		//returns a uniformly distributed double in the range [0, max)
+		public double Double( double max ) {
+			return Double() * max;
+		}
+
+		//returns a uniformly distributed double in the range [min, max)
+		public double Double( double min, double max ) {
+			return min + Double(max - min);
+		}
+
+		//returns a triangularly distributed double in the range [min, max)
+		public double NormalDouble( double min, double max ) {
+			return min + ((Double(max - min) + Double(max - min))/2f);
+		}
+
+		//returns a uniformly distributed int in the range [0, max)
+		public int Int( int max ) {
+			return max > 0 ? nextInt(max) : 0;
+		}
+
+		//returns a uniformly distributed int in the range [min, max)
+		public int Int( int min, int max ) {
+			return min + Int(max - min);
+		}
+
+		//returns a uniformly distributed int in the range [min, max]
+		public int IntRange( int min, int max ) {
+			return min + Int(max - min + 1);
+		}
+
+		//returns a triangularly distributed int in the range [min, max]
+		//this makes results more likely as they get closer to the middle of the range
+		public int NormalIntRange( int min, int max ) {
+			return min + (int)((Float() + Float()) * (max - min + 1) / 2f);
+		}
+
+		//returns an inverse triangularly distributed int in the range [min, max]
+		//this makes results more likely as they get further from the middle of the range
+		public int InvNormalIntRange( int min, int max ){
+			float roll1 = Float(), roll2 = Float();
+			if (Math.abs(roll1-0.5f) >= Math.abs(roll2-0.5f)){
+				return min + (int)(roll1*(max - min + 1));
+			} else {
+				return min + (int)(roll2*(max - min + 1));
+			}
+		}
+
+		//returns a uniformly distributed long in the range [-2^63, 2^63)
+		public long Long() {
+			return nextLong();
+		}
+
+		//returns a mostly uniformly distributed long in the range [0, max)
+		public long Long( long max ) {
+			long result = Long();
+			if (result < 0) result += Long.MAX_VALUE;
+			//modulo isn't perfect, but as long as max is reasonably below 2^63 it's close enough
+			return result % max;
+		}
+
+		public long Long( long min, long max ) {
+			return min + Long(max - min);
+		}
+
+		//returns a uniformly distributed int in the range [min, max]
+		public long LongRange( long min, long max ) {
+			return min + Long(max - min + 1);
+		}
+
+		//returns a triangularly distributed int in the range [min, max]
+		public long NormalLongRange( long min, long max ) {
+			return min + (int)((Float() + Float()) * (max - min + 1) / 2f);
+		}
+
+		//returns an inverse triangularly distributed int in the range [min, max]
+		//this makes results more likely as they get further from the middle of the range
+		public long InvNormalLongRange( long min, long max ){
+			float roll1 = Float(), roll2 = Float();
+			if (Math.abs(roll1-0.5f) >= Math.abs(roll2-0.5f)){
+				return min + (int)(roll1*(max - min + 1));
+			} else {
+				return min + (int)(roll2*(max - min + 1));
+			}
+		}
+
+		//returns an index from chances, the probability of each index is the weight values in changes
+		public int chances( float[] chances ) {
+
+			int length = chances.length;
+
+			float sum = 0;
+			for (int i=0; i < length; i++) {
+				sum += chances[i];
+			}
+
+			float value = Float( sum );
+			sum = 0;
+			for (int i=0; i < length; i++) {
+				sum += chances[i];
+				if (value < sum) {
+					return i;
+				}
+			}
+
+			return -1;
+		}
+
+		@SuppressWarnings("unchecked")
+		//returns a key element from chances, the probability of each key is the weight value it maps to
+		public <K> K chances( HashMap<K,Float> chances ) {
+
+			int size = chances.size();
+
+			Object[] values = chances.keySet().toArray();
+			float[] probs = new float[size];
+			float sum = 0;
+			for (int i=0; i < size; i++) {
+				probs[i] = chances.get( values[i] );
+				sum += probs[i];
+			}
+
+			if (sum <= 0) {
+				return null;
+			}
+
+			float value = Float( sum );
+
+			sum = probs[0];
+			for (int i=0; i < size; i++) {
+				if (value < sum) {
+					return (K)values[i];
+				}
+				sum += probs[i + 1];
+			}
+
+			return null;
+		}
+
+		public int index( Collection<?> collection ) {
+			return Int(collection.size());
+		}
+
+		public<T> T element( T[] array ) {
+			return element( array, array.length );
+		}
+
+		public<T> T element( T[] array, int max ) {
+			return array[Int(max)];
+		}
+
+		@SuppressWarnings("unchecked")
+		public<T> T element( Collection<? extends T> collection ) {
+			int size = collection.size();
+			return size > 0 ?
+				(T)collection.toArray()[Int( size )] :
+				null;
+		}
+
+		public<T> void shuffle( List<?extends T> list){
+			Collections.shuffle(list, this);
+		}
+
+		public<T> void shuffle( T[] array ) {
+			for (int i=0; i < array.length - 1; i++) {
+				int j = Int( i, array.length );
+				if (j != i) {
+					T t = array[i];
+					array[i] = array[j];
+					array[j] = t;
+				}
+			}
+		}
+
+		public<U,V> void shuffle( U[] u, V[]v ) {
+			for (int i=0; i < u.length - 1; i++) {
+				int j = Int( i, u.length );
+				if (j != i) {
+					U ut = u[i];
+					u[i] = u[j];
+					u[j] = ut;
+
+					V vt = v[i];
+					v[i] = v[j];
+					v[j] = vt;
+				}
 			}
 		}
 	}
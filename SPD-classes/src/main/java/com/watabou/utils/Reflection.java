@@ -25,8 +25,11 @@
 package com.watabou.utils;
 
 import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Constructor;
 import com.watabou.noosa.Game;
 
+import java.util.HashMap;
+
 //wrapper for libGDX reflection
 public class Reflection {
 	
@@ -40,28 +43,80 @@ public class Reflection {
 	
 	public static <T> T newInstance( Class<T> cls ){
 		try {
-			return ClassReflection.newInstance(cls);
+			return newInstanceUnhandled(cls);
 		} catch (Exception e) {
 			Game.reportException(e);
 			return null;
 		}
 	}
 	
+	@SuppressWarnings("unchecked")
 	public static <T> T newInstanceUnhandled( Class<T> cls ) throws Exception {
+		Constructor constructor = constructor(cls);
+		if (constructor != null){
+			return (T)constructor.newInstance();
+		}
 		return ClassReflection.newInstance(cls);
 	}
+
+	//No-arg constructors are looked up once per class and then reused, which is much quicker than
+	// ClassReflection.newInstance looking one up for every instance. Classes without a public
+	// no-arg constructor are stored as null, and still go through ClassReflection (and its errors).
+	private static final HashMap<Class, Constructor> constructors = new HashMap<>();
+
+	private static Constructor constructor( Class cls ){
+		synchronized (constructors) {
+			Constructor constructor = constructors.get(cls);
+			if (constructor == null && !constructors.containsKey(cls)) {
+				try {
+					constructor = ClassReflection.getConstructor(cls);
+				} catch (Exception e) {
+					constructor = null;
+				}
+				constructors.put(cls, constructor);
+			}
+			return constructor;
+		}
+	}
+
+	//looks up constructors ahead of time, e.g. for the classes in item generation tables
+	public static void prepare( Class... classes ){
+		if (classes == null) return;
+		for (Class cls : classes){
+			if (cls != null) constructor(cls);
+		}
+	}
+	
+	//whether the class itself declares this method, rather than inheriting it
+	public static boolean declaresMethod( Class cls, String name, Class... parameterTypes ){
+		try {
+			return ClassReflection.getDeclaredMethod( cls, name, parameterTypes ) != null;
+		} catch (Exception e) {
+			return false;
+		}
+	}
 	
 	public static Class forName( String name ){
 		try {
-			return ClassReflection.forName( name );
+			return forNameUnhandled( name );
 		} catch (Exception e) {
 			Game.reportException(e);
 			return null;
 		}
 	}
 	
+	//names are resolved once, as bundles look up the same few hundred class names over and over
+	private static final HashMap<String, Class> classes = new HashMap<>();
+
 	public static Class forNameUnhandled( String name ) throws Exception {
-		return ClassReflection.forName( name );
+		synchronized (classes) {
+			Class cls = classes.get( name );
+			if (cls == null) {
+				cls = ClassReflection.forName( name );
+				classes.put( name, cls );
+			}
+			return cls;
+		}
 	}
 	
 }
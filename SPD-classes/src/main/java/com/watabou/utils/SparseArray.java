@@ -24,33 +24,288 @@
 
 package com.watabou.utils;
 
-import com.badlogic.gdx.utils.IntMap;
-
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+
+//An int-keyed map using open addressing, meant to be written to by one thread (usually the actor thread).
+//Its layout and iteration order match libGDX's IntMap, which this used to extend,
+// so anything that depends on the order of keys or values (e.g. seeded level generation) is unaffected.
+//Nothing is synchronized. Instead, writes that move entries around bump a modification count,
+// and get() and the snapshot methods retry if that count changed while they were reading,
+// so other threads (e.g. the render thread) can still read safely.
+public class SparseArray<T> {
+
+	private static final float LOAD_FACTOR = 0.8f;
+
+	//keys and values are swapped in together when the table is resized
+	private static class Table {
+		final int[] keys;
+		final Object[] values;
+		final int mask;
+		final int shift;
+
+		Table( int capacity ){
+			keys = new int[capacity];
+			values = new Object[capacity];
+			mask = capacity - 1;
+			shift = Long.numberOfLeadingZeros( mask );
+		}
+
+		//0 marks an empty slot, so key 0 is stored outside of the table
+		int place( int key ){
+			return (int)(key * 0x9E3779B97F4A7C15L >>> shift);
+		}
+
+		//returns the key's slot, or -(slot + 1) for the empty slot it would go in
+		int locate( int key ){
+			for (int i = place( key );; i = (i + 1) & mask){
+				int other = keys[i];
+				if (other == 0) return -(i + 1);
+				if (other == key) return i;
+			}
+		}
+	}
+
+	private volatile Table table = new Table( 64 );
+	private int threshold = (int)(64 * LOAD_FACTOR);
+
+	private Object zeroValue;
+	private boolean hasZeroValue;
+
+	//odd while entries are being moved, so readers on other threads know to try again
+	private volatile int modCount;
+
+	public int size;
+
+	public T get( int key ){
+		return get( key, null );
+	}
+
+	@SuppressWarnings("unchecked")
+	public T get( int key, T defaultValue ){
+		while (true) {
+			int mod = modCount;
+			Object result;
+			if (key == 0) {
+				result = hasZeroValue ? zeroValue : defaultValue;
+			} else {
+				Table t = table;
+				int i = t.locate( key );
+				result = i >= 0 ? t.values[i] : defaultValue;
+			}
+			if ((mod & 1) == 0 && mod == modCount) {
+				return (T)result;
+			}
+		}
+	}
+
+	public boolean containsKey( int key ){
+		while (true) {
+			int mod = modCount;
+			boolean result = key == 0 ? hasZeroValue : table.locate( key ) >= 0;
+			if ((mod & 1) == 0 && mod == modCount) {
+				return result;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public T put( int key, T value ){
+		if (key == 0) {
+			Object old = zeroValue;
+			modCount++;
+			zeroValue = value;
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				size++;
+			}
+			modCount++;
+			return (T)old;
+		}
+
+		Table t = table;
+		int i = t.locate( key );
+		if (i >= 0) {
+			Object old = t.values[i];
+			t.values[i] = value;
+			return (T)old;
+		}
+
+		i = -(i + 1);
+		modCount++;
+		t.values[i] = value;
+		t.keys[i] = key;
+		if (++size >= threshold) resize( t.keys.length << 1 );
+		modCount++;
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T remove( int key ){
+		if (key == 0) {
+			if (!hasZeroValue) return null;
+			Object old = zeroValue;
+			modCount++;
+			hasZeroValue = false;
+			zeroValue = null;
+			size--;
+			modCount++;
+			return (T)old;
+		}
+
+		Table t = table;
+		int i = t.locate( key );
+		if (i < 0) return null;
+		Object old = t.values[i];
+
+		modCount++;
+		//shifts back any entries which were placed after this one, so no empty slot is left in their way
+		int next = (i + 1) & t.mask;
+		while ((key = t.keys[next]) != 0) {
+			int placement = t.place( key );
+			if (((next - placement) & t.mask) > ((i - placement) & t.mask)) {
+				t.keys[i] = key;
+				t.values[i] = t.values[next];
+				i = next;
+			}
+			next = (next + 1) & t.mask;
+		}
+		t.keys[i] = 0;
+		t.values[i] = null;
+		size--;
+		modCount++;
+		return (T)old;
+	}
+
+	public void clear(){
+		if (size == 0) return;
+		modCount++;
+		Table t = table;
+		Arrays.fill( t.keys, 0 );
+		Arrays.fill( t.values, null );
+		zeroValue = null;
+		hasZeroValue = false;
+		size = 0;
+		modCount++;
+	}
+
+	private void resize( int capacity ){
+		Table old = table;
+		Table t = new Table( capacity );
+		for (int j = 0; j < old.keys.length; j++) {
+			int key = old.keys[j];
+			if (key != 0) {
+				int i = t.place( key );
+				while (t.keys[i] != 0) i = (i + 1) & t.mask;
+				t.keys[i] = key;
+				t.values[i] = old.values[j];
+			}
+		}
+		threshold = (int)(capacity * LOAD_FACTOR);
+		table = t;
+	}
+
+	// *****************
+	// *** Snapshots ***
+	// *****************
+
+	//these are safe to use from any thread, and to modify the map while iterating over
+
+	public int[] keyArray() {
+		while (true) {
+			int mod = modCount;
+			Table t = table;
+			int[] result = new int[t.keys.length + 1];
+			int n = 0;
+			if (hasZeroValue) result[n++] = 0;
+			for (int key : t.keys) {
+				if (key != 0) result[n++] = key;
+			}
+			if ((mod & 1) == 0 && mod == modCount) {
+				return Arrays.copyOf( result, n );
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<T> valueList() {
+		while (true) {
+			int mod = modCount;
+			Table t = table;
+			ArrayList<T> result = new ArrayList<>( size );
+			if (hasZeroValue) result.add( (T)zeroValue );
+			for (int i = 0; i < t.keys.length; i++) {
+				if (t.keys[i] != 0) result.add( (T)t.values[i] );
+			}
+			if ((mod & 1) == 0 && mod == modCount) {
+				return result;
+			}
+		}
+	}
+
+	// ******************
+	// *** Live views ***
+	// ******************
+
+	//these iterate over the map directly, without copying it into a list first.
+	//Only use them on the writing thread, and don't modify the map while iterating.
+
+	public Values values(){
+		return new Values();
+	}
+
+	public Keys keys(){
+		return new Keys();
+	}
+
+	private abstract class Cursor {
+
+		//-1 is the zero key, which comes before the table
+		int next = hasZeroValue ? -1 : advance( -1 );
+
+		int advance( int from ){
+			int[] keys = table.keys;
+			for (int i = from + 1; i < keys.length; i++){
+				if (keys[i] != 0) return i;
+			}
+			return keys.length;
+		}
+
+		public boolean hasNext() {
+			return next < table.keys.length;
+		}
+
+		int step(){
+			if (!hasNext()) throw new NoSuchElementException();
+			int current = next;
+			next = advance( next );
+			return current;
+		}
+	}
+
+	public class Values extends Cursor implements Iterable<T>, Iterator<T> {
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T next() {
+			int i = step();
+			return (T)(i == -1 ? zeroValue : table.values[i]);
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return this;
+		}
+	}
+
+	public class Keys extends Cursor {
 
-public class SparseArray<T> extends IntMap<T> {
-	
-	@Override
-	public synchronized T put(int key, T value) {
-		return super.put(key, value);
-	}
-	
-	@Override
-	public synchronized T get(int key, T defaultValue) {
-		return super.get(key, defaultValue);
-	}
-	
-	@Override
-	public synchronized T remove(int key) {
-		return super.remove(key);
-	}
-	
-	public synchronized int[] keyArray() {
-		return keys().toArray().toArray();
-	}
-	
-	public synchronized List<T> valueList() {
-		return Arrays.asList(values().toArray().toArray());
+		public int next() {
+			int i = step();
+			return i == -1 ? 0 : table.keys[i];
+		}
 	}
 }
@@ -0,0 +1,99 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * Experienced Pixel Dungeon
+ * Copyright (C) 2019-2024 Trashbox Bobylev
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.noosa;
+
+//Times add, recycle and update on a group with 10k members, most of them killed or erased,
+// the way effect groups in GameScene end up after a long fight.
+//Run with: java -cp <SPD-classes classes and libs> com.watabou.noosa.GroupBenchmark
+public class GroupBenchmark {
+
+	private static final int MEMBERS = 10_000;
+	private static final int ROUNDS = 200;
+
+	public static class Effect extends Gizmo {
+	}
+
+	public static class OtherEffect extends Gizmo {
+	}
+
+	public static void main( String[] args ){
+		//warm-up round first, so the timed rounds run compiled code
+		run( false );
+		run( true );
+	}
+
+	private static void run( boolean print ){
+		Group group = new Group();
+		for (int i=0; i < MEMBERS; i++) {
+			group.add( i % 2 == 0 ? new Effect() : new OtherEffect() );
+		}
+
+		long addTime = 0, recycleTime = 0, updateTime = 0;
+
+		for (int r=0; r < ROUNDS; r++) {
+			//kill 90% of members, and erase half of those
+			for (int i=0; i < group.length; i++) {
+				Gizmo g = group.members.get( i );
+				if (g != null && g.exists && i % 10 != 0) {
+					if (i % 4 == 1) g.killAndErase();
+					else            g.kill();
+				}
+			}
+
+			long start = System.nanoTime();
+			for (int i=0; i < MEMBERS / 4; i++) {
+				group.add( new OtherEffect() );
+			}
+			addTime += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i=0; i < MEMBERS / 4; i++) {
+				Gizmo g = group.recycle( Effect.class );
+				if (g != null) g.revive();
+			}
+			recycleTime += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			group.update();
+			updateTime += System.nanoTime() - start;
+
+			//keeps the group around 10k members
+			while (group.length > MEMBERS) {
+				group.remove( group.members.get( group.length-1 ) );
+			}
+		}
+
+		if (print) {
+			System.out.println( "members: " + MEMBERS + ", rounds: " + ROUNDS );
+			System.out.println( "add:     " + perOp( addTime, MEMBERS / 4 ) + " ns/op" );
+			System.out.println( "recycle: " + perOp( recycleTime, MEMBERS / 4 ) + " ns/op" );
+			System.out.println( "update:  " + perOp( updateTime, 1 ) + " ns/op" );
+		}
+	}
+
+	private static long perOp( long total, int opsPerRound ){
+		return total / ((long)ROUNDS * opsPerRound);
+	}
+}
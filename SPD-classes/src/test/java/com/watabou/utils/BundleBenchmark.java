@@ -0,0 +1,215 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * Experienced Pixel Dungeon
+ * Copyright (C) 2019-2024 Trashbox Bobylev
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.watabou.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+//Times writing and reading a level save as gzipped JSON and as gzipped binary.
+//Pass the path of a real save (e.g. a late depth's level file) to time that, otherwise a level of
+// similar size is made up: large blob arrays, visited/mapped maps, and hundreds of heaps and mobs.
+//Run with: java -cp <SPD-classes classes and libs> com.watabou.utils.BundleBenchmark [save file]
+public class BundleBenchmark {
+
+	private static final int ROUNDS = 50;
+
+	public static void main( String[] args ) throws IOException {
+		Bundle bundle;
+		if (args.length > 0) {
+			InputStream in = new FileInputStream( args[0] );
+			bundle = Bundle.read( in );
+			in.close();
+		} else {
+			bundle = madeUpLevel();
+		}
+
+		//warm-up round first, so the timed rounds run compiled code
+		run( bundle, false );
+		run( bundle, true );
+	}
+
+	private static void run( Bundle bundle, boolean print ) throws IOException {
+		byte[] json = null, binary = null;
+		Bundle fromJson = null, fromBinary = null;
+
+		long jsonWrite = 0, binaryWrite = 0, jsonRead = 0, binaryRead = 0;
+		for (int r = 0; r < ROUNDS; r++) {
+			long start = System.nanoTime();
+			json = write( bundle, false );
+			jsonWrite += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			binary = write( bundle, true );
+			binaryWrite += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			fromJson = Bundle.read( new ByteArrayInputStream( json ) );
+			jsonRead += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			fromBinary = Bundle.read( new ByteArrayInputStream( binary ) );
+			binaryRead += System.nanoTime() - start;
+		}
+
+		if (print) {
+			System.out.println( "rounds: " + ROUNDS );
+			System.out.println( "json:   " + json.length + " bytes, write " + perRound( jsonWrite )
+					+ " us, read " + perRound( jsonRead ) + " us" );
+			System.out.println( "binary: " + binary.length + " bytes, write " + perRound( binaryWrite )
+					+ " us, read " + perRound( binaryRead ) + " us" );
+			//floats can print differently after a JSON round trip, so real saves may not match exactly
+			System.out.println( "decoded bundles match: " + fromJson.toString().equals( fromBinary.toString() ) );
+		}
+	}
+
+	private static byte[] write( Bundle bundle, boolean binary ){
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if (!Bundle.write( bundle, out, true, binary )) {
+			throw new IllegalStateException( "write failed" );
+		}
+		return out.toByteArray();
+	}
+
+	private static long perRound( long total ){
+		return total / (ROUNDS * 1000L);
+	}
+
+	private static final int WIDTH = 80;
+	private static final int HEIGHT = 80;
+
+	public static class Heap implements Bundlable {
+		int pos;
+		ArrayList<Item> items = new ArrayList<>();
+
+		@Override
+		public void storeInBundle( Bundle bundle ) {
+			bundle.put( "pos", pos );
+			bundle.put( "type", "HEAP" );
+			bundle.put( "items", items );
+		}
+
+		@Override
+		public void restoreFromBundle( Bundle bundle ) {
+		}
+	}
+
+	public static class Item implements Bundlable {
+		long quantity;
+		int level;
+
+		@Override
+		public void storeInBundle( Bundle bundle ) {
+			bundle.put( "quantity", quantity );
+			bundle.put( "level", level );
+			bundle.put( "levelKnown", level % 2 == 0 );
+			bundle.put( "cursedKnown", true );
+			bundle.put( "cursed", false );
+		}
+
+		@Override
+		public void restoreFromBundle( Bundle bundle ) {
+		}
+	}
+
+	public static class Mob implements Bundlable {
+		int pos;
+		long HP;
+
+		@Override
+		public void storeInBundle( Bundle bundle ) {
+			bundle.put( "pos", pos );
+			bundle.put( "HP", HP );
+			bundle.put( "HT", HP * 2 );
+			bundle.put( "state", "HUNTING" );
+			bundle.put( "target", pos + 1 );
+		}
+
+		@Override
+		public void restoreFromBundle( Bundle bundle ) {
+		}
+	}
+
+	private static Bundle madeUpLevel(){
+		int length = WIDTH * HEIGHT;
+		java.util.Random random = new java.util.Random( 1 );
+
+		Bundle bundle = new Bundle();
+		bundle.put( "width", WIDTH );
+		bundle.put( "height", HEIGHT );
+
+		int[] map = new int[length];
+		boolean[] visited = new boolean[length];
+		boolean[] mapped = new boolean[length];
+		for (int i = 0; i < length; i++) {
+			map[i] = random.nextInt( 30 );
+			visited[i] = random.nextInt( 4 ) != 0;
+			mapped[i] = visited[i] || random.nextBoolean();
+		}
+		bundle.put( "map", map );
+		bundle.put( "visited", visited );
+		bundle.put( "mapped", mapped );
+
+		for (int b = 0; b < 6; b++) {
+			int[] cur = new int[length / 2];
+			for (int i = 0; i < cur.length; i++) {
+				cur[i] = random.nextInt( 3 ) == 0 ? random.nextInt( 1000 ) : 0;
+			}
+			Bundle blob = new Bundle();
+			blob.put( "start", length / 4 );
+			blob.put( "length", length );
+			blob.put( "cur", cur );
+			bundle.put( "blob" + b, blob );
+		}
+
+		ArrayList<Heap> heaps = new ArrayList<>();
+		for (int h = 0; h < 400; h++) {
+			Heap heap = new Heap();
+			heap.pos = random.nextInt( length );
+			for (int i = 0; i < 3; i++) {
+				Item item = new Item();
+				item.quantity = 1 + random.nextInt( 20 );
+				item.level = random.nextInt( 100 );
+				heap.items.add( item );
+			}
+			heaps.add( heap );
+		}
+		bundle.put( "heaps", heaps );
+
+		ArrayList<Mob> mobs = new ArrayList<>();
+		for (int m = 0; m < 150; m++) {
+			Mob mob = new Mob();
+			mob.pos = random.nextInt( length );
+			mob.HP = random.nextInt( 100_000 );
+			mobs.add( mob );
+		}
+		bundle.put( "mobs", mobs );
+
+		return bundle;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * Experienced Pixel Dungeon
+ * Copyright (C) 2019-2024 Trashbox Bobylev
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+
+package com.watabou.utils;
+
+import java.util.ArrayDeque;
+
+//Times drawing numbers through Random's static methods, through a generator held directly, and through
+// a copy of the old approach: a synchronized peek at an ArrayDeque of java.util.Random.
+//Run with: java -cp <SPD-classes classes and libs> com.watabou.utils.RandomBenchmark
+public class RandomBenchmark {
+
+	private static final int DRAWS = 10_000_000;
+
+	private static final ArrayDeque<java.util.Random> oldGenerators = new ArrayDeque<>();
+	static {
+		oldGenerators.push( new java.util.Random( 1 ) );
+	}
+
+	private static synchronized float oldFloat(){
+		return oldGenerators.peek().nextFloat();
+	}
+
+	private static synchronized int oldInt( int max ){
+		return oldGenerators.peek().nextInt( max );
+	}
+
+	public static void main( String[] args ){
+		Random.pushGenerator( 1 );
+		//warm-up round first, so the timed rounds run compiled code
+		run( false );
+		run( true );
+		Random.popGenerator();
+	}
+
+	private static void run( boolean print ){
+		Random.Generator held = new Random.Generator( 1 );
+		//summed and printed, so the draws can't be optimized away
+		double sum = 0;
+
+		long start = System.nanoTime();
+		for (int i = 0; i < DRAWS; i++) {
+			sum += Random.Float();
+			sum += Random.Int( 100 );
+		}
+		long staticTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < DRAWS; i++) {
+			sum += held.Float();
+			sum += held.Int( 100 );
+		}
+		long heldTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < DRAWS; i++) {
+			sum += oldFloat();
+			sum += oldInt( 100 );
+		}
+		long oldTime = System.nanoTime() - start;
+
+		if (print) {
+			System.out.println( "draws: " + DRAWS + " floats and ints (" + sum + ")" );
+			System.out.println( "static: " + perDraw( staticTime ) + " ns/draw" );
+			System.out.println( "held:   " + perDraw( heldTime ) + " ns/draw" );
+			System.out.println( "old:    " + perDraw( oldTime ) + " ns/draw" );
+		}
+	}
+
+	private static double perDraw( long total ){
+		return total / (2.0 * DRAWS);
+	}
+}
@@ -92,9 +92,11 @@ import com.watabou.noosa.Game;
 import com.watabou.utils.BArray;
 import com.watabou.utils.Bundlable;
 import com.watabou.utils.Bundle;
+import com.watabou.utils.Callback;
 import com.watabou.utils.FileUtils;
 import com.watabou.utils.PathFinder;
 import com.watabou.utils.Random;
+import com.watabou.utils.Reflection;
 import com.watabou.utils.SparseArray;
 
 import java.io.IOException;
@@ -526,15 +528,12 @@ public class Dungeon {
 		int lookAhead = depth;
 		lookAhead += 30*branch; //Assumes depth is always 1-30, and branch is always 0 or higher
 
-		Random.pushGenerator( seed );
-
-			for (int i = 0; i < lookAhead; i ++) {
-				Random.Long(); //we don't care about these values, just need to go through them
-			}
-			long result = Random.Long();
-
-		Random.popGenerator();
-		return result;
+		//uses its own generator rather than the global stack, the values are the same either way
+		Random.Generator generator = new Random.Generator( seed );
+		for (int i = 0; i < lookAhead; i ++) {
+			generator.Long(); //we don't care about these values, just need to go through them
+		}
+		return generator.Long();
 	}
 	
 	public static boolean shopOnLevel() {
@@ -865,19 +864,32 @@ public class Dungeon {
 			Badges.saveLocal( badges );
 			bundle.put( BADGES, badges );
 			
-			FileUtils.bundleToFile( GamesInProgress.gameFile(save), bundle);
+			//the bundle is a snapshot, so it can be compressed and written while the game continues
+			//write failures are reported by the writer, which then runs the callback
+			FileUtils.bundleToFileAsync( GamesInProgress.gameFile(save), bundle, true, new Callback() {
+				@Override
+				public void call() {
+					GamesInProgress.setUnknown( save );
+				}
+			});
 			
-		} catch (IOException e) {
+		} catch (Exception e) {
 			GamesInProgress.setUnknown( save );
 			ShatteredPixelDungeon.reportException(e);
 		}
 	}
 	
-	public static void saveLevel( int save ) throws IOException {
+	public static void saveLevel( int save ) {
 		Bundle bundle = new Bundle();
 		bundle.put( LEVEL, level );
 		
-		FileUtils.bundleToFile(GamesInProgress.depthFile( save, depth, branch ), bundle);
+		//like the game file, a failed write leaves the slot in an unknown state
+		FileUtils.bundleToFileAsync(GamesInProgress.depthFile( save, depth, branch ), bundle, true, new Callback() {
+			@Override
+			public void call() {
+				GamesInProgress.setUnknown( save );
+			}
+		});
 	}
 	
 	public static void saveAll() throws IOException {
@@ -1163,7 +1175,7 @@ public class Dungeon {
 		}
 
 		if (hero.buff(Awareness.class) != null){
-			for (Heap h : level.heaps.valueList()){
+			for (Heap h : level.heaps.values()){
 				BArray.or( level.visited, level.heroFOV, h.pos - 1 - level.width(), 3, level.visited );
 				BArray.or( level.visited, level.heroFOV, h.pos - 1, 3, level.visited );
 				BArray.or( level.visited, level.heroFOV, h.pos - 1 + level.width(), 3, level.visited );
@@ -1196,7 +1208,7 @@ public class Dungeon {
 			GameScene.updateFog(a.pos, 2);
 		}
 
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch instanceof WandOfWarding.Ward
 					|| ch instanceof WandOfRegrowth.Lotus
 					|| ch instanceof SpiritHawk.HawkAlly){
@@ -1255,7 +1267,7 @@ public class Dungeon {
 		ch.modifyPassable(passable);
 
 		if (chars) {
-			for (Char c : Actor.chars()) {
+			for (Char c : Actor.charsView()) {
 				if (vis[c.pos]) {
 					passable[c.pos] = false;
 				}
@@ -1265,9 +1277,60 @@ public class Dungeon {
 		return passable;
 	}
 
+	//identifies passable maps that depend only on terrain, so that PathFinder can share
+	// distance fields between chars that search with them. 0 is used for any other map.
+	private static int passableStamp = 0;
+	private static Level stampLevel;
+	private static int stampVersion;
+	private static boolean stampAvoid;
+	private static boolean stampLarge;
+
+	//chars which change passable maps for themselves, checked once per class
+	private static final HashMap<Class, Boolean> modifiesPassable = new HashMap<>();
+
+	private static int passableStamp(Char ch, boolean[] pass, boolean chars, boolean considerLarge){
+		//maps with chars in them depend on what each char can see
+		if (chars || pass != Dungeon.level.passable || modifiesPassable(ch.getClass())) {
+			return 0;
+		}
+
+		boolean avoid = ch.flying || ch.buff( Amok.class ) != null;
+		boolean large = considerLarge && Char.hasProp(ch, Char.Property.LARGE);
+		if (passableStamp == 0
+				|| stampLevel != Dungeon.level
+				|| stampVersion != Dungeon.level.passableVersion
+				|| stampAvoid != avoid
+				|| stampLarge != large){
+			stampLevel = Dungeon.level;
+			stampVersion = Dungeon.level.passableVersion;
+			stampAvoid = avoid;
+			stampLarge = large;
+			if (++passableStamp == 0) passableStamp = 1;
+		}
+		return passableStamp;
+	}
+
+	private static boolean modifiesPassable(Class cls){
+		synchronized (modifiesPassable) {
+			Boolean result = modifiesPassable.get(cls);
+			if (result == null) {
+				result = false;
+				for (Class c = cls; c != Char.class && c != null; c = c.getSuperclass()) {
+					if (Reflection.declaresMethod(c, "modifyPassable", boolean[].class)) {
+						result = true;
+						break;
+					}
+				}
+				modifiesPassable.put(cls, result);
+			}
+			return result;
+		}
+	}
+
 	public static PathFinder.Path findPath(Char ch, int to, boolean[] pass, boolean[] vis, boolean chars) {
 
-		return PathFinder.find( ch.pos, to, findPassable(ch, pass, vis, chars) );
+		int stamp = passableStamp(ch, pass, chars, chars);
+		return PathFinder.find( ch.pos, to, findPassable(ch, pass, vis, chars), stamp );
 
 	}
 	
@@ -1277,7 +1340,8 @@ public class Dungeon {
 			return Actor.findChar( to ) == null && pass[to] ? to : -1;
 		}
 
-		return PathFinder.getStep( ch.pos, to, findPassable(ch, pass, visible, chars) );
+		int stamp = passableStamp(ch, pass, chars, chars);
+		return PathFinder.getStep( ch.pos, to, findPassable(ch, pass, visible, chars), stamp );
 
 	}
 	
@@ -1287,7 +1351,7 @@ public class Dungeon {
 
 		//only consider other chars impassable if our retreat step may collide with them
 		if (chars) {
-			for (Char c : Actor.chars()) {
+			for (Char c : Actor.charsView()) {
 				if (c.pos == from || Dungeon.level.adjacent(c.pos, ch.pos)) {
 					passable[c.pos] = false;
 				}
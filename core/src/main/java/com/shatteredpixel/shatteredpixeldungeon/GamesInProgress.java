@@ -105,7 +105,8 @@ public class GamesInProgress {
 			Info info;
 			try {
 				
-				Bundle bundle = FileUtils.bundleFromFile(gameFile(slot));
+				//previews only need a few values, so nested bundles are parsed as they're used
+				Bundle bundle = FileUtils.bundleFromFile(gameFile(slot), true);
 
 				if (bundle.getInt( "version" ) < 500) {
 					info = null;
@@ -269,7 +269,7 @@ public enum Rankings {
 		}
 
 		//remove all buffs (ones tied to equipment will be re-applied)
-		for(Buff b : Dungeon.hero.buffs()){
+		for(Buff b : Dungeon.hero.buffsView()){
 			Dungeon.hero.remove(b);
 		}
 
@@ -34,7 +34,10 @@ import com.watabou.utils.Bundlable;
 import com.watabou.utils.Bundle;
 import com.watabou.utils.SparseArray;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 
 public abstract class Actor implements Bundlable {
 	
@@ -44,6 +47,9 @@ public abstract class Actor implements Bundlable {
 
 	private int id = 0;
 
+	//position of this actor in the scheduling queue, or -1 if it is not scheduled
+	private int queueIndex = -1;
+
 	//default priority values for general actor categories
 	//note that some specific actors pick more specific values
 	//e.g. a buff acting after all normal buffs might have priority BUFF_PRIO + 1
@@ -67,6 +73,7 @@ public abstract class Actor implements Bundlable {
 		if (ex < .001f){
 			this.time = Math.round(this.time);
 		}
+		reschedule( this );
 	}
 
 	//sends time, but the amount can be influenced
@@ -76,6 +83,7 @@ public abstract class Actor implements Bundlable {
 
 	public void spendToWhole(){
 		time = (float)Math.ceil(time);
+		reschedule( this );
 	}
 	
 	protected void postpone( float time ) {
@@ -86,6 +94,7 @@ public abstract class Actor implements Bundlable {
 			if (ex < .001f){
 				this.time = Math.round(this.time);
 			}
+			reschedule( this );
 		}
 	}
 	
@@ -95,14 +104,17 @@ public abstract class Actor implements Bundlable {
 
 	public void clearTime() {
 		time = 0;
+		reschedule( this );
 	}
 
 	public void timeToNow() {
 		time = now;
+		reschedule( this );
 	}
 	
 	protected void diactivate() {
 		time = Float.MAX_VALUE;
+		reschedule( this );
 	}
 	
 	protected void onAdd() {}
@@ -121,6 +133,7 @@ public abstract class Actor implements Bundlable {
 	@Override
 	public void restoreFromBundle( Bundle bundle ) {
 		time = bundle.getFloat( TIME );
+		reschedule( this );
 		int incomingID = bundle.getInt( ID );
 		if (Actor.findById(incomingID) == null){
 			id = incomingID;
@@ -141,8 +154,13 @@ public abstract class Actor implements Bundlable {
 	// *** Static members ***
 	// **********************
 	
-	private static HashSet<Actor> all = new HashSet<>();
+	//all scheduled actors, kept as a binary min-heap ordered by actsBefore()
+	//so the next actor to act is always at index 0
+	private static Actor[] queue = new Actor[64];
+	private static int queueSize = 0;
 	private static HashSet<Char> chars = new HashSet<>();
+	//read-only snapshot of chars, reused until a char is added or removed
+	private static List<Char> charsView = null;
 	private static volatile Actor current;
 
 	private static SparseArray<Actor> ids = new SparseArray<>();
@@ -158,31 +176,36 @@ public abstract class Actor implements Bundlable {
 		
 		now = 0;
 
-		all.clear();
+		for (int i = 0; i < queueSize; i++){
+			queue[i].queueIndex = -1;
+			queue[i] = null;
+		}
+		queueSize = 0;
 		chars.clear();
+		charsView = null;
 
 		ids.clear();
 	}
 
 	public static synchronized void fixTime() {
 		
-		if (all.isEmpty()) return;
+		if (queueSize == 0) return;
 		
-		float min = Float.MAX_VALUE;
-		for (Actor a : all) {
-			if (a.time < min) {
-				min = a.time;
-			}
-		}
+		//the earliest actor is always at the head of the queue
+		float min = queue[0].time;
 
 		//Only pull everything back by whole numbers
 		//So that turns always align with a whole number
 		min = (int)min;
-		for (Actor a : all) {
-			a.time -= min;
+		for (int i = 0; i < queueSize; i++) {
+			queue[i].time -= min;
+		}
+		//shifting every time equally preserves order, but float rounding may merge close times
+		for (int i = queueSize/2 - 1; i >= 0; i--){
+			siftDown( i );
 		}
 
-		if (Dungeon.hero != null && all.contains( Dungeon.hero )) {
+		if (Dungeon.hero != null && ((Actor)Dungeon.hero).queueIndex >= 0) {
 			Statistics.duration += min;
 		}
 		now -= min;
@@ -247,18 +270,7 @@ public abstract class Actor implements Bundlable {
 			
 			current = null;
 			if (!interrupted && !Game.switchingScene()) {
-				float earliest = Float.MAX_VALUE;
-
-				for (Actor actor : all) {
-					
-					//some actors will always go before others if time is equal.
-					if (actor.time < earliest ||
-							actor.time == earliest && (current == null || actor.actPriority > current.actPriority)) {
-						earliest = actor.time;
-						current = actor;
-					}
-					
-				}
+				current = nextActor();
 			}
 
 			if  (current != null) {
@@ -330,20 +342,21 @@ public abstract class Actor implements Bundlable {
 	
 	private static synchronized void add( Actor actor, float time ) {
 		
-		if (all.contains( actor )) {
+		if (actor.queueIndex >= 0) {
 			return;
 		}
 
 		ids.put( actor.id(),  actor );
 
-		all.add( actor );
 		actor.time += time;
+		enqueue( actor );
 		actor.onAdd();
 		
 		if (actor instanceof Char) {
 			Char ch = (Char)actor;
 			chars.add( ch );
-			for (Buff buff : ch.buffs()) {
+			charsView = null;
+			for (Buff buff : ch.buffsView()) {
 				add(buff);
 			}
 		}
@@ -352,8 +365,10 @@ public abstract class Actor implements Bundlable {
 	public static synchronized void remove( Actor actor ) {
 		
 		if (actor != null) {
-			all.remove( actor );
-			chars.remove( actor );
+			dequeue( actor );
+			if (chars.remove( actor )){
+				charsView = null;
+			}
 			actor.onRemove();
 
 			if (actor.id > 0) {
@@ -366,7 +381,7 @@ public abstract class Actor implements Bundlable {
 	//USE CAREFULLY! Manipulating time like this is useful for some gameplay effects but is tricky
 	public static void delayChar( Char ch, float time ){
 		ch.spendConstant(time);
-		for (Buff b : ch.buffs()){
+		for (Buff b : ch.buffsView()){
 			b.spendConstant(time);
 		}
 	}
@@ -384,8 +399,107 @@ public abstract class Actor implements Bundlable {
 	}
 
 	public static synchronized HashSet<Actor> all() {
-		return new HashSet<>(all);
+		HashSet<Actor> result = new HashSet<>();
+		for (int i = 0; i < queueSize; i++){
+			result.add(queue[i]);
+		}
+		return result;
 	}
 
 	public static synchronized HashSet<Char> chars() { return new HashSet<>(chars); }
+
+	//returns a read-only snapshot of all chars without copying them on every call
+	//the snapshot is safe to iterate while chars are added or removed
+	public static synchronized List<Char> charsView() {
+		if (charsView == null){
+			charsView = Collections.unmodifiableList(Arrays.asList(chars.toArray(new Char[0])));
+		}
+		return charsView;
+	}
+
+	public static synchronized boolean containsChar( Char ch ) {
+		return chars.contains( ch );
+	}
+
+	// *************************
+	// *** Scheduling queue ***
+	// *************************
+
+	//actors act in order of time, then priority (higher first), then id (lower first).
+	//The id tiebreaker keeps ordering deterministic when time and priority are equal
+	private static boolean actsBefore( Actor a, Actor b ){
+		if (a.time != b.time)               return a.time < b.time;
+		if (a.actPriority != b.actPriority) return a.actPriority > b.actPriority;
+		return a.id < b.id;
+	}
+
+	private static synchronized Actor nextActor(){
+		return queueSize > 0 ? queue[0] : null;
+	}
+
+	private static void enqueue( Actor actor ){
+		if (queueSize == queue.length){
+			queue = Arrays.copyOf(queue, queue.length*2);
+		}
+		queue[queueSize] = actor;
+		actor.queueIndex = queueSize;
+		queueSize++;
+		siftUp( actor.queueIndex );
+	}
+
+	private static void dequeue( Actor actor ){
+		int i = actor.queueIndex;
+		if (i < 0) return;
+
+		queueSize--;
+		Actor last = queue[queueSize];
+		queue[queueSize] = null;
+		actor.queueIndex = -1;
+
+		if (i != queueSize){
+			queue[i] = last;
+			last.queueIndex = i;
+			siftUp( i );
+			siftDown( last.queueIndex );
+		}
+	}
+
+	//called whenever an actor's time changes, restores its place in the queue
+	private static synchronized void reschedule( Actor actor ){
+		int i = actor.queueIndex;
+		if (i < 0) return;
+		siftUp( i );
+		siftDown( actor.queueIndex );
+	}
+
+	private static void siftUp( int i ){
+		Actor actor = queue[i];
+		while (i > 0){
+			int parent = (i - 1) >>> 1;
+			if (!actsBefore(actor, queue[parent])) break;
+			queue[i] = queue[parent];
+			queue[i].queueIndex = i;
+			i = parent;
+		}
+		queue[i] = actor;
+		actor.queueIndex = i;
+	}
+
+	private static void siftDown( int i ){
+		Actor actor = queue[i];
+		int half = queueSize >>> 1;
+		while (i < half){
+			int child = 2*i + 1;
+			int right = child + 1;
+			if (right < queueSize && actsBefore(queue[right], queue[child])){
+				child = right;
+			}
+			if (!actsBefore(queue[child], actor)) break;
+			queue[i] = queue[child];
+			queue[i].queueIndex = i;
+			i = child;
+		}
+		queue[i] = actor;
+		actor.queueIndex = i;
+	}
 }
@@ -135,6 +135,7 @@ import com.shatteredpixel.shatteredpixeldungeon.levels.traps.GnollRockfallTrap;
 import com.shatteredpixel.shatteredpixeldungeon.levels.traps.GrimTrap;
 import com.shatteredpixel.shatteredpixeldungeon.mechanics.Ballistica;
 import com.shatteredpixel.shatteredpixeldungeon.mechanics.ConeAOE;
+import com.shatteredpixel.shatteredpixeldungeon.mechanics.ShadowCaster;
 import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.shatteredpixel.shatteredpixeldungeon.plants.Earthroot;
 import com.shatteredpixel.shatteredpixeldungeon.plants.Swiftthistle;
@@ -153,8 +154,11 @@ import com.watabou.utils.Random;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 
 import static com.shatteredpixel.shatteredpixeldungeon.actors.hero.Perks.Perk.IRON_WILL;
 
@@ -186,8 +190,13 @@ public abstract class Char extends Actor {
 	public int viewDistance	= 8;
 	
 	public boolean[] fieldOfView = null;
+	public final ShadowCaster.Cache fovCache = new ShadowCaster.Cache();
 	
 	private LinkedHashSet<Buff> buffs = new LinkedHashSet<>();
+	//read-only snapshot of buffs, reused until a buff is added or removed
+	private List<Buff> buffsView = null;
+	//buffs indexed by their class and every superclass up to Buff, in the order they were added
+	private HashMap<Class<?>, ArrayList<Buff>> buffIndex = new HashMap<>();
 	
 	@Override
 	protected boolean act() {
@@ -979,7 +988,7 @@ public abstract class Char extends Actor {
 		HP = 0;
 		Actor.remove( this );
 
-		for (Char ch : Actor.chars().toArray(new Char[0])){
+		for (Char ch : Actor.charsView()){
 			if (ch.buff(Charm.class) != null && ch.buff(Charm.class).object == id()){
 				ch.buff(Charm.class).detach();
 			}
@@ -1062,40 +1071,85 @@ public abstract class Char extends Actor {
 	public synchronized LinkedHashSet<Buff> buffs() {
 		return new LinkedHashSet<>(buffs);
 	}
+
+	//returns a read-only snapshot of all buffs without copying them on every call
+	//the snapshot is safe to iterate while buffs are added or removed
+	public synchronized List<Buff> buffsView() {
+		if (buffsView == null){
+			buffsView = Collections.unmodifiableList(Arrays.asList(buffs.toArray(new Buff[0])));
+		}
+		return buffsView;
+	}
 	
 	@SuppressWarnings("unchecked")
 	//returns all buffs assignable from the given buff class
 	public synchronized <T extends Buff> HashSet<T> buffs( Class<T> c ) {
-		HashSet<T> filtered = new HashSet<>();
-		for (Buff b : buffs) {
-			if (c.isInstance( b )) {
-				filtered.add( (T)b );
-			}
+		ArrayList<Buff> indexed = buffIndex.get( c );
+		if (indexed == null) {
+			return new HashSet<>();
 		}
-		return filtered;
+		return new HashSet<>((ArrayList<T>)indexed);
 	}
 
 	@SuppressWarnings("unchecked")
 	//returns an instance of the specific buff class, if it exists. Not just assignable
 	public synchronized  <T extends Buff> T buff( Class<T> c ) {
-		for (Buff b : buffs) {
-			if (b.getClass() == c) {
-				return (T)b;
+		ArrayList<Buff> indexed = buffIndex.get( c );
+		if (indexed != null) {
+			//the index also holds subclasses of c, so check for an exact match
+			for (int i = 0; i < indexed.size(); i++) {
+				Buff b = indexed.get( i );
+				if (b.getClass() == c) {
+					return (T)b;
+				}
 			}
 		}
 		return null;
 	}
 
 	public synchronized boolean isCharmedBy( Char ch ) {
+		ArrayList<Buff> charms = buffIndex.get( Charm.class );
+		if (charms == null) {
+			return false;
+		}
 		int chID = ch.id();
-		for (Buff b : buffs) {
-			if (b instanceof Charm && ((Charm)b).object == chID) {
+		for (int i = 0; i < charms.size(); i++) {
+			if (((Charm)charms.get( i )).object == chID) {
 				return true;
 			}
 		}
 		return false;
 	}
 
+	private void indexBuff( Buff buff ) {
+		Class<?> c = buff.getClass();
+		while (true) {
+			ArrayList<Buff> indexed = buffIndex.get( c );
+			if (indexed == null) {
+				indexed = new ArrayList<>(1);
+				buffIndex.put( c, indexed );
+			}
+			indexed.add( buff );
+			if (c == Buff.class) break;
+			c = c.getSuperclass();
+		}
+	}
+
+	private void unindexBuff( Buff buff ) {
+		Class<?> c = buff.getClass();
+		while (true) {
+			ArrayList<Buff> indexed = buffIndex.get( c );
+			if (indexed != null) {
+				indexed.remove( buff );
+				if (indexed.isEmpty()) {
+					buffIndex.remove( c );
+				}
+			}
+			if (c == Buff.class) break;
+			c = c.getSuperclass();
+		}
+	}
+
 	public synchronized boolean add( Buff buff ) {
 
 		if (buff(PotionOfCleansing.Cleanse.class) != null) { //cleansing buff
@@ -1110,8 +1164,11 @@ public abstract class Char extends Actor {
 			return false; //can't add buffs while frozen and game is loaded
 		}
 
-		buffs.add( buff );
-		if (Actor.chars().contains(this)) Actor.add( buff );
+		if (buffs.add( buff )){
+			buffsView = null;
+			indexBuff( buff );
+		}
+		if (Actor.containsChar(this)) Actor.add( buff );
 
 		if (sprite != null && buff.announced) {
 			switch (buff.type) {
@@ -1134,7 +1191,10 @@ public abstract class Char extends Actor {
 	
 	public synchronized boolean remove( Buff buff ) {
 		
-		buffs.remove( buff );
+		if (buffs.remove( buff )){
+			buffsView = null;
+			unindexBuff( buff );
+		}
 		Actor.remove( buff );
 
 		return true;
@@ -1228,7 +1288,7 @@ public abstract class Char extends Actor {
 		for (Property p : properties()){
 			resists.addAll(p.resistances());
 		}
-		for (Buff b : buffs()){
+		for (Buff b : buffsView()){
 			resists.addAll(b.resistances());
 		}
 		
@@ -1248,7 +1308,7 @@ public abstract class Char extends Actor {
 		for (Property p : properties()){
 			immunes.addAll(p.immunities());
 		}
-		for (Buff b : buffs()){
+		for (Buff b : buffsView()){
 			immunes.addAll(b.immunities());
 		}
 		
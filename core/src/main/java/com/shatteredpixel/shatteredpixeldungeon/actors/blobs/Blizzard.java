@@ -31,6 +31,11 @@ import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 
 public class Blizzard extends Blob {
 	
+	@Override
+	protected boolean diffusesFirst() {
+		return true;
+	}
+
 	@Override
 	protected void evolve() {
 		super.evolve();
@@ -33,6 +33,10 @@ import com.watabou.utils.Bundle;
 import com.watabou.utils.Rect;
 import com.watabou.utils.Reflection;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
 public class Blob extends Actor {
 
 	{
@@ -50,6 +54,37 @@ public class Blob extends Actor {
 	
 	public boolean alwaysVisible = false;
 
+	//Cells are grouped into 8x8 chunks, which track whether they may contain any gas.
+	//This lets diffusion skip over the parts of its area which have no gas near them,
+	// e.g. when a blob has a few wisps of gas in opposite corners of the level.
+	private static final int CHUNK_SHIFT = 3;
+
+	//whether each chunk of cur/off may have non-zero cells, null when this isn't known
+	private boolean[] curChunks;
+	private boolean[] offChunks;
+	//filled in by the default evolve for the values it writes to off
+	private boolean[] nextChunks;
+	private boolean chunksTracked;
+	//reused by quietChunks each time the blob evolves
+	private boolean[] quietChunks;
+
+	//Blobs which are due to act at the same time have their default diffusion done together, in one pass over
+	// the rows of all their areas which reads the solid map once per cell. Each blob's result is held until it
+	// acts, and is only used if neither its gas nor the level's terrain changed in the meantime.
+	private static float stageTime = Float.NaN;
+	private static Level stageLevel;
+
+	//counts changes made to cur from outside of act(), such as seeding or another blob clearing a cell
+	private int changes = 0;
+
+	private boolean staged;
+	private float stagedTime;
+	private int stagedChanges;
+	private int stagedPassable;
+	private Rect stagedArea = new Rect();
+	private int stagedVolume;
+	private boolean[] stagedChunks;
+
 	private static final String CUR		= "cur";
 	private static final String START	= "start";
 	private static final String LENGTH	= "length";
@@ -103,12 +138,17 @@ public class Blob extends Actor {
 				cur[i + start] = data[i];
 				volume += data[i];
 			}
+			changes++;
 
 		}
 	}
 	
 	@Override
 	public boolean act() {
+
+		if (volume > 0 && (stageLevel != Dungeon.level || stageTime != now())) {
+			stageDiffusion();
+		}
 		
 		spend( TICK );
 		
@@ -119,10 +159,21 @@ public class Blob extends Actor {
 
 			volume = 0;
 
+			chunksTracked = false;
 			evolve();
 			int[] tmp = off;
 			off = cur;
 			cur = tmp;
+
+			//chunks are only known if the default diffusion produced the new values
+			if (chunksTracked) {
+				boolean[] tmpChunks = offChunks;
+				offChunks = curChunks;
+				curChunks = nextChunks;
+				nextChunks = tmpChunks;
+			} else {
+				curChunks = offChunks = null;
+			}
 			
 		} else {
 			if (!area.isEmpty()) {
@@ -130,16 +181,26 @@ public class Blob extends Actor {
 				//clear any values remaining in off
 				System.arraycopy(cur, 0, off, 0, cur.length);
 			}
+			curChunks = offChunks = null;
 		}
 		
 		return true;
 	}
 
 	public void setupArea(){
-		for (int cell=0; cell < cur.length; cell++) {
-			if (cur[cell] != 0){
-				area.union(cell%Dungeon.level.width(), cell/Dungeon.level.width());
-			}
+		int width = Dungeon.level.width();
+		for (int row = 0; row < cur.length; row += width) {
+			//only the first and last non-zero cells in each row can affect the area
+			int first = row;
+			int end = Math.min( row + width, cur.length );
+			while (first < end && cur[first] == 0) first++;
+			if (first == end) continue;
+
+			int last = end - 1;
+			while (cur[last] == 0) last--;
+
+			area.union( first - row, row / width );
+			area.union( last - row, row / width );
 		}
 	}
 	
@@ -147,57 +208,233 @@ public class Blob extends Actor {
 		this.emitter = emitter;
 	}
 	
+	//whether evolve() starts with the default diffusion, so that it can be staged with other blobs.
+	//Blobs which override evolve() but call super.evolve() before anything else should return true.
+	protected boolean diffusesFirst(){
+		return !overridesEvolve( getClass() );
+	}
+
+	private static final HashMap<Class<?>, Boolean> overridesEvolve = new HashMap<>();
+
+	private static boolean overridesEvolve( Class<?> cls ){
+		synchronized (overridesEvolve) {
+			Boolean result = overridesEvolve.get( cls );
+			if (result == null) {
+				result = false;
+				for (Class<?> c = cls; c != Blob.class; c = c.getSuperclass()) {
+					if (Reflection.declaresMethod( c, "evolve" )) {
+						result = true;
+						break;
+					}
+				}
+				overridesEvolve.put( cls, result );
+			}
+			return result;
+		}
+	}
+
+	//prepares the diffusion of every blob on the level which acts now, including this one
+	private static void stageDiffusion(){
+		stageLevel = Dungeon.level;
+		stageTime = now();
+
+		ArrayList<Blob> due = new ArrayList<>();
+		for (Blob b : Dungeon.level.blobs.values()) {
+			b.staged = false;
+			if (b.volume > 0 && b.cur != null && b.cooldown() == 0 && b.diffusesFirst()) {
+				due.add( b );
+			}
+		}
+		//a lone blob gains nothing from staging
+		if (due.size() < 2) {
+			return;
+		}
+
+		boolean[] blocking = Dungeon.level.solid;
+		int width = Dungeon.level.width();
+		int height = Dungeon.level.height();
+
+		int chunksW = ((width - 1) >> CHUNK_SHIFT) + 1;
+		int chunksH = ((height - 1) >> CHUNK_SHIFT) + 1;
+
+		Blob[] blobs = due.toArray( new Blob[due.size()] );
+		boolean[][] quiet = new boolean[blobs.length][];
+		int[] firstRow = new int[blobs.length];
+		boolean[] finished = new boolean[blobs.length];
+
+		int top = height;
+		for (int k = 0; k < blobs.length; k++) {
+			Blob b = blobs[k];
+			if (b.area.isEmpty())
+				b.setupArea();
+			b.stagedArea.set( b.area );
+			b.stagedVolume = 0;
+			if (b.stagedChunks == null || b.stagedChunks.length != chunksW * chunksH) {
+				b.stagedChunks = new boolean[chunksW * chunksH];
+			} else {
+				Arrays.fill( b.stagedChunks, false );
+			}
+			quiet[k] = b.quietChunks( chunksW, chunksH );
+			firstRow[k] = Math.max( b.area.top-1, 1 );
+			top = Math.min( top, firstRow[k] );
+		}
+
+		//rows are visited in order for all blobs together, while each blob still covers exactly the rows
+		// its own evolve would, as its area grows during the pass
+		for (int i = top; i < height-1; i++) {
+			boolean any = false;
+			for (int k = 0; k < blobs.length; k++) {
+				if (finished[k]) continue;
+				Blob b = blobs[k];
+				if (i > b.stagedArea.bottom) {
+					finished[k] = true;
+					continue;
+				}
+				any = true;
+				if (i >= firstRow[k]) {
+					b.stagedVolume += diffuseRow( i, b.cur, b.off, b.stagedArea, blocking, width,
+							quiet[k], b.stagedChunks, chunksW );
+				}
+			}
+			if (!any) break;
+		}
+
+		for (Blob b : blobs) {
+			b.staged = true;
+			b.stagedTime = stageTime;
+			b.stagedChanges = b.changes;
+			b.stagedPassable = Dungeon.level.passableVersion;
+		}
+	}
+
+	//uses the diffusion prepared by stageDiffusion, if it is still valid
+	private boolean useStaged(){
+		if (!staged) {
+			return false;
+		}
+		staged = false;
+		if (stagedTime != now() || stagedChanges != changes
+				|| stageLevel != Dungeon.level || stagedPassable != Dungeon.level.passableVersion) {
+			return false;
+		}
+
+		area.set( stagedArea );
+		volume += stagedVolume;
+
+		boolean[] tmpChunks = nextChunks;
+		nextChunks = stagedChunks;
+		stagedChunks = tmpChunks;
+		chunksTracked = true;
+		return true;
+	}
+
 	protected void evolve() {
+
+		if (useStaged()) {
+			return;
+		}
 		
 		boolean[] blocking = Dungeon.level.solid;
+		int width = Dungeon.level.width();
+		int height = Dungeon.level.height();
+
+		int chunksW = ((width - 1) >> CHUNK_SHIFT) + 1;
+		int chunksH = ((height - 1) >> CHUNK_SHIFT) + 1;
+		if (nextChunks == null || nextChunks.length != chunksW * chunksH) {
+			nextChunks = new boolean[chunksW * chunksH];
+		} else {
+			Arrays.fill( nextChunks, false );
+		}
+		boolean[] quiet = quietChunks( chunksW, chunksH );
+
+		//cells on the edge of the map never hold gas, so rows and columns are clamped to the map's inside
+		// rather than checking every cell
+		for (int i = Math.max(area.top-1, 1); i <= area.bottom && i < height-1; i++) {
+			volume += diffuseRow( i, cur, off, area, blocking, width, quiet, nextChunks, chunksW );
+		}
+
+		chunksTracked = true;
+	}
+
+	//diffuses one row of cur into off, growing the area as gas spreads. Returns the volume written to off.
+	private static int diffuseRow( int i, int[] cur, int[] off, Rect area, boolean[] blocking, int width,
+								   boolean[] quiet, boolean[] chunks, int chunksW ){
+		int volume = 0;
 		int cell;
-		for (int i=area.top-1; i <= area.bottom; i++) {
-			for (int j = area.left-1; j <= area.right; j++) {
-				cell = j + i*Dungeon.level.width();
-				if (Dungeon.level.insideMap(cell)) {
-					if (!blocking[cell]) {
-
-						int count = 1;
-						int sum = cur[cell];
-
-						if (j > area.left && !blocking[cell-1]) {
-							sum += cur[cell-1];
-							count++;
-						}
-						if (j < area.right && !blocking[cell+1]) {
-							sum += cur[cell+1];
-							count++;
-						}
-						if (i > area.top && !blocking[cell-Dungeon.level.width()]) {
-							sum += cur[cell-Dungeon.level.width()];
-							count++;
-						}
-						if (i < area.bottom && !blocking[cell+Dungeon.level.width()]) {
-							sum += cur[cell+Dungeon.level.width()];
-							count++;
-						}
-
-						int value = sum >= count ? (sum / count) - 1 : 0;
-						off[cell] = value;
-
-						if (value > 0){
-							if (i < area.top)
-								area.top = i;
-							else if (i >= area.bottom)
-								area.bottom = i+1;
-							if (j < area.left)
-								area.left = j;
-							else if (j >= area.right)
-								area.right = j+1;
-						}
-
-						volume += value;
-					} else {
-						off[cell] = 0;
-					}
+		for (int j = Math.max(area.left-1, 1); j <= area.right && j < width-1; j++) {
+			//chunks with no gas in or next to them can't produce any, and already have nothing in off
+			if (quiet != null && quiet[(i >> CHUNK_SHIFT) * chunksW + (j >> CHUNK_SHIFT)]) {
+				j |= (1 << CHUNK_SHIFT) - 1;
+				continue;
+			}
+			cell = j + i*width;
+			if (!blocking[cell]) {
+
+				int count = 1;
+				int sum = cur[cell];
+
+				if (j > area.left && !blocking[cell-1]) {
+					sum += cur[cell-1];
+					count++;
+				}
+				if (j < area.right && !blocking[cell+1]) {
+					sum += cur[cell+1];
+					count++;
+				}
+				if (i > area.top && !blocking[cell-width]) {
+					sum += cur[cell-width];
+					count++;
 				}
+				if (i < area.bottom && !blocking[cell+width]) {
+					sum += cur[cell+width];
+					count++;
+				}
+
+				int value = sum >= count ? (sum / count) - 1 : 0;
+				off[cell] = value;
+
+				if (value > 0){
+					chunks[(i >> CHUNK_SHIFT) * chunksW + (j >> CHUNK_SHIFT)] = true;
+					if (i < area.top)
+						area.top = i;
+					else if (i >= area.bottom)
+						area.bottom = i+1;
+					if (j < area.left)
+						area.left = j;
+					else if (j >= area.right)
+						area.right = j+1;
+				}
+
+				volume += value;
+			} else {
+				off[cell] = 0;
 			}
 		}
+		return volume;
+	}
+
+	//returns which chunks have no gas in them or their neighbours, and nothing left in off
+	//returns null if chunks aren't being tracked yet
+	private boolean[] quietChunks( int chunksW, int chunksH ){
+		if (curChunks == null || offChunks == null || curChunks.length != chunksW * chunksH) {
+			return null;
+		}
+
+		if (quietChunks == null || quietChunks.length != curChunks.length) {
+			quietChunks = new boolean[curChunks.length];
+		}
+		boolean[] quiet = quietChunks;
+		for (int y = 0; y < chunksH; y++) {
+			for (int x = 0; x < chunksW; x++) {
+				int c = x + y * chunksW;
+				quiet[c] = !curChunks[c] && !offChunks[c]
+						&& (x == 0 || !curChunks[c - 1])
+						&& (x == chunksW - 1 || !curChunks[c + 1])
+						&& (y == 0 || !curChunks[c - chunksW])
+						&& (y == chunksH - 1 || !curChunks[c + chunksW]);
+			}
+		}
+		return quiet;
 	}
 
 	public void seed( Level level, int cell, int amount ) {
@@ -206,6 +443,12 @@ public class Blob extends Actor {
 
 		cur[cell] += amount;
 		volume += amount;
+		changes++;
+
+		if (curChunks != null) {
+			curChunks[(cell / level.width() >> CHUNK_SHIFT) * (((level.width() - 1) >> CHUNK_SHIFT) + 1)
+					+ (cell % level.width() >> CHUNK_SHIFT)] = true;
+		}
 
 		area.union(cell%level.width(), cell/level.width());
 	}
@@ -214,6 +457,7 @@ public class Blob extends Actor {
 		if (volume == 0) return;
 		volume -= cur[cell];
 		cur[cell] = 0;
+		changes++;
 	}
 
 	public void fullyClear(){
@@ -221,6 +465,8 @@ public class Blob extends Actor {
 		area.setEmpty();
 		cur = new int[Dungeon.level.length()];
 		off = new int[Dungeon.level.length()];
+		curChunks = offChunks = null;
+		changes++;
 	}
 
 	public void onBuildFlagMaps( Level l ){
@@ -42,6 +42,11 @@ public class CorrosiveGas extends Blob {
 	//used in specific cases where the source of the corrosion is important for death logic
 	private Class source;
 
+	@Override
+	protected boolean diffusesFirst() {
+		return true;
+	}
+
 	@Override
 	protected void evolve() {
 		super.evolve();
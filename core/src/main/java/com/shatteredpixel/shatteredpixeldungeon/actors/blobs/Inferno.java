@@ -32,6 +32,11 @@ import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
 
 public class Inferno extends Blob {
 	
+	@Override
+	protected boolean diffusesFirst() {
+		return true;
+	}
+
 	@Override
 	protected void evolve() {
 		super.evolve();
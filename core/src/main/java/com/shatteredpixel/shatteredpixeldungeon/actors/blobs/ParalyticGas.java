@@ -40,6 +40,11 @@ public class ParalyticGas extends Blob {
 		actPriority = MOB_PRIO - 1;
 	}
 	
+	@Override
+	protected boolean diffusesFirst() {
+		return true;
+	}
+
 	@Override
 	protected void evolve() {
 		super.evolve();
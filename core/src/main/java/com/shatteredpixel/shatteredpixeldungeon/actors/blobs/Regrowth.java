@@ -37,6 +37,11 @@ import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
 
 public class Regrowth extends Blob {
 	
+	@Override
+	protected boolean diffusesFirst() {
+		return true;
+	}
+
 	@Override
 	protected void evolve() {
 		super.evolve();
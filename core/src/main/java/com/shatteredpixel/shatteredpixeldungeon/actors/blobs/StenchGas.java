@@ -35,6 +35,11 @@ import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 
 public class StenchGas extends Blob {
 
+	@Override
+	protected boolean diffusesFirst() {
+		return true;
+	}
+
 	@Override
 	protected void evolve() {
 		super.evolve();
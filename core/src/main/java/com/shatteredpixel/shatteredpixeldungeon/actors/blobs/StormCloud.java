@@ -33,6 +33,11 @@ import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 
 public class StormCloud extends Blob {
 	
+	@Override
+	protected boolean diffusesFirst() {
+		return true;
+	}
+
 	@Override
 	protected void evolve() {
 		super.evolve();
@@ -36,6 +36,11 @@ import com.shatteredpixel.shatteredpixeldungeon.utils.GLog;
 
 public class ToxicGas extends Blob implements Hero.Doom {
 
+	@Override
+	protected boolean diffusesFirst() {
+		return true;
+	}
+
 	@Override
 	protected void evolve() {
 		super.evolve();
@@ -49,7 +49,7 @@ public class ArtifactRecharge extends Buff {
 		if (target instanceof Hero) {
 			float chargeAmount = Math.min(1, left);
 			if (chargeAmount > 0){
-				for (Buff b : target.buffs()) {
+				for (Buff b : target.buffsView()) {
 					if (b instanceof Artifact.ArtifactBuff) {
 						if (b instanceof HornOfPlenty.hornRecharge && ignoreHornOfPlenty){
 							continue;
@@ -129,7 +129,7 @@ public class ArtifactRecharge extends Buff {
 	}
 
 	public static void chargeArtifacts( Hero hero, float turns ){
-		for (Buff b : hero.buffs()){
+		for (Buff b : hero.buffsView()){
 			if (b instanceof Artifact.ArtifactBuff && !((Artifact.ArtifactBuff) b).isCursed()){
 				if (!((Artifact.ArtifactBuff) b).isCursed()) ((Artifact.ArtifactBuff) b).charge(hero, turns);
 			}
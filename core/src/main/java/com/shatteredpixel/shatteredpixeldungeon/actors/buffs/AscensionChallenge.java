@@ -237,7 +237,7 @@ public class AscensionChallenge extends Buff {
 		if (Dungeon.bossLevel()){
 			if (justAscended) {
 				GLog.p(Messages.get(this, "break"));
-				for (Char ch : Actor.chars()){
+				for (Char ch : Actor.charsView()){
 					if (ch instanceof DriedRose.GhostHero){
 						((DriedRose.GhostHero) ch).sayAppeared();
 					}
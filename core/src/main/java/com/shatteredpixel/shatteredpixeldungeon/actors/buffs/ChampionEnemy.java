@@ -161,7 +161,7 @@ public abstract class ChampionEnemy extends Buff {
 				return false;
 			} else {
 				boolean[] passable = BArray.not(Dungeon.level.solid, null);
-				for (Char ch : Actor.chars()) {
+				for (Char ch : Actor.charsView()) {
 					//our own tile is always passable
 					passable[ch.pos] = ch == target;
 				}
@@ -208,7 +208,7 @@ public abstract class ChampionEnemy extends Buff {
 				return false;
 			} else {
 				boolean[] passable = BArray.not(Dungeon.level.solid, null);
-				for (Char ch : Actor.chars()) {
+				for (Char ch : Actor.charsView()) {
 					//our own tile is always passable
 					passable[ch.pos] = ch == target;
 				}
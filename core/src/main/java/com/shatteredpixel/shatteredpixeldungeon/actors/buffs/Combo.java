@@ -405,7 +405,7 @@ public class Combo extends Buff implements ActionIndicator.Action {
 				case CRUSH:
 					WandOfBlastWave.BlastWave.blast(enemy.pos);
 					PathFinder.buildDistanceMap(target.pos, BArray.not(Dungeon.level.solid, null), 3);
-					for (Char ch : Actor.chars()) {
+					for (Char ch : Actor.charsView()) {
 						if (ch != enemy && ch.alignment == Char.Alignment.ENEMY
 								&& PathFinder.distance[ch.pos] < Integer.MAX_VALUE) {
 							int aoeHit = Math.round(target.damageRoll() * 0.25f * count);
@@ -42,7 +42,7 @@ public class Corruption extends AllyBuff {
 	public static void corruptionHeal(Char target){
 		target.HP = target.HT;
 		target.sprite.showStatusWithIcon(CharSprite.POSITIVE, Long.toString(target.HT), FloatingText.HEALING);
-		for (Buff buff : target.buffs()) {
+		for (Buff buff : target.buffsView()) {
 			if (buff.type == Buff.buffType.NEGATIVE
 					&& !(buff instanceof SoulMark)) {
 				buff.detach();
@@ -57,7 +57,7 @@ public class GravityChaosTracker extends Buff {
 	public boolean act() {
 
 		//wait until all sprites have finished moving
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			try {
 				synchronized (ch.sprite) {
 					if (ch.sprite.isMoving) {
@@ -97,7 +97,7 @@ public class GravityChaosTracker extends Buff {
 		}
 
 		idx = Random.Int(PathFinder.NEIGHBOURS8.length);
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (Char.hasProp(ch, Char.Property.IMMOVABLE) ||
 					(positiveOnly && ch.alignment == Char.Alignment.ALLY)){
 				continue;
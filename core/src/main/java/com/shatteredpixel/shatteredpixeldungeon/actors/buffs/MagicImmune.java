@@ -46,7 +46,7 @@ public class MagicImmune extends FlavourBuff {
 	@Override
 	public boolean attachTo(Char target) {
 		if (super.attachTo(target)){
-			for (Buff b : target.buffs()){
+			for (Buff b : target.buffsView()){
 				for (Class immunity : immunities){
 					if (b.getClass().isAssignableFrom(immunity)){
 						b.detach();
@@ -205,7 +205,7 @@ public class Marked extends Buff implements ActionIndicator.Action {
 
                 //we can move through enemies when determining blink distance,
                 // but not when actually jumping to a location
-                for (Char ch : Actor.chars()){
+                for (Char ch : Actor.charsView()){
                     if (ch != Dungeon.hero)  passable[ch.pos] = false;
                 }
 
@@ -253,7 +253,7 @@ public class Marked extends Buff implements ActionIndicator.Action {
         if (mark.stack >= 10) Buff.affect(enemy, Paralysis.class, 5f);
         if (mark.stack >= 11) Buff.affect(enemy, Doom.class);
 
-        for (Char ch : Actor.chars()){
+        for (Char ch : Actor.charsView()){
             if (ch instanceof Bbat){
                 ch.sprite.emitter().burst(Speck.factory(Speck.SMOKE), 10);
                 ch.HP = Math.min(ch.HT, ch.HP + ch.HT / 5 * mark.stack);
@@ -492,7 +492,7 @@ public class MonkEnergy extends Buff implements ActionIndicator.Action {
 
 				Ballistica dash = new Ballistica(hero.pos, target, Ballistica.PROJECTILE);
 
-				if (!dash.collisionPos.equals(target)
+				if (dash.collisionPos != target
 						|| (Dungeon.level.solid[target] && !Dungeon.level.passable[target])){
 					GLog.w(Messages.get(MeleeWeapon.class, "ability_target_range"));
 					return;
@@ -588,7 +588,7 @@ public class MonkEnergy extends Buff implements ActionIndicator.Action {
 						Buff.affect(hero, MonkEnergy.class).abilityUsed(DragonKick.this);
 
 						if (empowered){
-							for (Char ch : Actor.chars()){
+							for (Char ch : Actor.charsView()){
 								if (ch != enemy
 										&& ch.alignment == Char.Alignment.ENEMY
 										&& Dungeon.level.adjacent(ch.pos, hero.pos)){
@@ -624,7 +624,7 @@ public class MonkEnergy extends Buff implements ActionIndicator.Action {
 				GameScene.flash(0x88000000, false);
 				Sample.INSTANCE.play(Assets.Sounds.SCAN);
 
-				for (Buff b : hero.buffs()){
+				for (Buff b : hero.buffsView()){
 					if (b.type == Buff.buffType.NEGATIVE
 							&& !(b instanceof AllyBuff)
 							&& !(b instanceof LostInventory)){
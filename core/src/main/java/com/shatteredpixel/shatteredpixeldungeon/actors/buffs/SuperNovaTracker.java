@@ -90,7 +90,7 @@ public class SuperNovaTracker extends Buff {
 
 			//if positive only, bombs do not harm allies
 			if (!harmsAllies) {
-				for (Char ch : Actor.chars()) {
+				for (Char ch : Actor.charsView()) {
 					if (ch.alignment == Char.Alignment.ALLY) {
 						Buff.affect(ch, NovaBombImmune.class, 0f);
 					}
@@ -41,6 +41,8 @@ import com.watabou.utils.Bundle;
 import com.watabou.utils.Random;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 
 public class Belongings implements Iterable<Item> {
@@ -52,12 +54,8 @@ public class Belongings implements Iterable<Item> {
 			image = ItemSpriteSheet.BACKPACK;
 		}
 		public int capacity(){
-			int cap = super.capacity();
-			for (Item item : items){
-				if (item instanceof Bag){
-					cap++;
-				}
-			}
+			//bags don't take up an inventory slot
+			int cap = super.capacity() + bags().size();
 			if (Dungeon.hero != null && Dungeon.hero.belongings.secondWep != null){
 				//secondary weapons still occupy an inv. slot
 				cap--;
@@ -235,79 +233,118 @@ public class Belongings implements Iterable<Item> {
 	
 	@SuppressWarnings("unchecked")
 	public<T extends Item> T getItem( Class<T> itemClass ) {
+		return (T) first( instancesOf( itemClass ) );
+	}
 
-		boolean lostInvent = lostInventory();
+	@SuppressWarnings("unchecked")
+	public<T extends Item> ArrayList<T> getAllItems( Class<T> itemClass ) {
+		return (ArrayList<T>) inOrder( instancesOf( itemClass ) );
+	}
+	
+	public boolean contains( Item contains ){
 
-		for (Item item : this) {
-			if (itemClass.isInstance( item )) {
-				if (!lostInvent || item.keptThroughLostInventory()) {
-					return (T) item;
-				}
+		if (lostInventory() && !contains.keptThroughLostInventory()) {
+			return false;
+		}
+
+		for (Item item : equipped()) {
+			if (contains == item) {
+				return true;
 			}
 		}
 		
-		return null;
+		return backpack.contains( contains );
+	}
+	
+	public Item getSimilar( Item similar ){
+		return first( similarTo( similar ) );
+	}
+	
+	public ArrayList<Item> getAllSimilar( Item similar ){
+		return inOrder( similarTo( similar ) );
 	}
 
-	public<T extends Item> ArrayList<T> getAllItems( Class<T> itemClass ) {
-		ArrayList<T> result = new ArrayList<>();
+	//picks up many items as one operation, e.g. the contents of treasure bags
+	//returns the items which couldn't be picked up
+	public ArrayList<Item> collectAll( Collection<Item> items, int pos ){
+		ArrayList<Item> failed = new ArrayList<>();
+		Item.beginCollectBatch();
+		try {
+			for (Item item : items) {
+				if (item != null && !item.doPickUp( owner, pos, 0f )) {
+					failed.add( item );
+				}
+			}
+		} finally {
+			Item.endCollectBatch();
+		}
+		return failed;
+	}
 
-		boolean lostInvent = lostInventory();
+	//the backpack indexes items by class, so these find matching items without going through everything held.
+	// Only when there are several matches do they need to be put into iteration order.
 
-		for (Item item : this) {
+	private Item[] equipped(){
+		return new Item[]{weapon, armor, artifact, misc, ring, secondWep};
+	}
+
+	private ArrayList<Item> instancesOf( Class<?> itemClass ){
+		ArrayList<Item> result = new ArrayList<>();
+		for (Item item : equipped()) {
 			if (itemClass.isInstance( item )) {
-				if (!lostInvent || item.keptThroughLostInventory()) {
-					result.add((T) item);
-				}
+				result.add( item );
 			}
 		}
+		backpack.findInstances( itemClass, result );
+		return usable( result );
+	}
 
-		return result;
+	private ArrayList<Item> similarTo( Item similar ){
+		ArrayList<Item> result = new ArrayList<>();
+		for (Item item : equipped()) {
+			if (item != null && item != similar && similar.isSimilar( item )) {
+				result.add( item );
+			}
+		}
+		backpack.findSimilar( similar, result );
+		return usable( result );
 	}
-	
-	public boolean contains( Item contains ){
 
-		boolean lostInvent = lostInventory();
-		
-		for (Item item : this) {
-			if (contains == item) {
-				if (!lostInvent || item.keptThroughLostInventory()) {
-					return true;
+	private ArrayList<Item> usable( ArrayList<Item> items ){
+		if (lostInventory()) {
+			for (int i = items.size()-1; i >= 0; i--) {
+				if (!items.get( i ).keptThroughLostInventory()) {
+					items.remove( i );
 				}
 			}
 		}
-		
-		return false;
+		return items;
 	}
-	
-	public Item getSimilar( Item similar ){
 
-		boolean lostInvent = lostInventory();
-		
+	private Item first( ArrayList<Item> items ){
+		if (items.size() <= 1) {
+			return items.isEmpty() ? null : items.get( 0 );
+		}
+		HashSet<Item> matches = new HashSet<>( items );
 		for (Item item : this) {
-			if (similar != item && similar.isSimilar(item)) {
-				if (!lostInvent || item.keptThroughLostInventory()) {
-					return item;
-				}
+			if (matches.contains( item )) {
+				return item;
 			}
 		}
-		
 		return null;
 	}
-	
-	public ArrayList<Item> getAllSimilar( Item similar ){
-		ArrayList<Item> result = new ArrayList<>();
 
-		boolean lostInvent = lostInventory();
-		
+	private ArrayList<Item> inOrder( ArrayList<Item> items ){
+		if (items.size() <= 1) {
+			return items;
+		}
+		HashSet<Item> matches = new HashSet<>( items );
+		ArrayList<Item> result = new ArrayList<>( items.size() );
 		for (Item item : this) {
-			if (item != similar && similar.isSimilar(item)) {
-				if (!lostInvent || item.keptThroughLostInventory()) {
-					result.add(item);
-				}
+			if (matches.contains( item )) {
+				result.add( item );
 			}
 		}
-		
 		return result;
 	}
 
@@ -480,7 +480,7 @@ public class Hero extends Char {
 	}
 
 	public void live() {
-		for (Buff b : buffs()){
+		for (Buff b : buffsView()){
 			if (!b.revivePersists) b.detach();
 		}
 		Buff.affect( this, Regeneration.class );
@@ -781,7 +781,7 @@ if (buff(RoundShield.GuardTracker.class) != null){
 	}
 
 	public boolean canAttack(Char enemy){
-		if (enemy == null || pos == enemy.pos || !Actor.chars().contains(enemy)) {
+		if (enemy == null || pos == enemy.pos || !Actor.containsChar(enemy)) {
 			return false;
 		}
 
@@ -1718,7 +1718,7 @@ if (buff(RoundShield.GuardTracker.class) != null){
 
 				//only do a simple check for mind visioned enemies, better performance
 				if ((!mindVisionEnemies.contains(m) && QuickSlotButton.autoAim(m) != -1)
-						|| (mindVisionEnemies.contains(m) && new Ballistica( pos, m.pos, Ballistica.PROJECTILE ).collisionPos == m.pos)) {
+						|| (mindVisionEnemies.contains(m) && Ballistica.reaches( pos, m.pos, Ballistica.PROJECTILE ))) {
 					if (target == null) {
 						target = m;
 					} else if (distance(target) > distance(m)) {
@@ -2196,7 +2196,7 @@ if (!Dungeon.level.visited[cell] && !Dungeon.level.mapped[cell]
 
 				ankh.detach(belongings.backpack);
 
-				for (Char ch : Actor.chars()) {
+				for (Char ch : Actor.charsView()) {
 					if (ch instanceof DriedRose.GhostHero) {
 						((DriedRose.GhostHero) ch).sayAnhk();
 						return;
@@ -2284,7 +2284,7 @@ if (!Dungeon.level.visited[cell] && !Dungeon.level.mapped[cell]
 			items.remove( item );
 		}
 
-		for (Char c : Actor.chars()){
+		for (Char c : Actor.charsView()){
 			if (c instanceof DriedRose.GhostHero){
 				((DriedRose.GhostHero) c).sayHeroKilled();
 			}
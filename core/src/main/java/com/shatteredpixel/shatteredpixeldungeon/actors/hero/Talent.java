@@ -642,7 +642,7 @@ public enum Talent {
 			for (Wand wand: hero.belongings.getAllItems(Wand.class)){
 				wand.gainCharge(1f);
 			}
-			for (Buff b : hero.buffs()) {
+			for (Buff b : hero.buffsView()) {
 				if (b instanceof Artifact.ArtifactBuff) {
 					if (!((Artifact.ArtifactBuff) b).isCursed()) {
 						((Artifact.ArtifactBuff) b).charge(hero, 10);
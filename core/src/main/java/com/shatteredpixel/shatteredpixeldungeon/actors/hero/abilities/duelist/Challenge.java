@@ -103,7 +103,7 @@ public class Challenge extends ArmorAbility {
 		}
 
 		boolean[] passable = BArray.or(Dungeon.level.passable, Dungeon.level.avoid, null);
-		for (Char c : Actor.chars()) {
+		for (Char c : Actor.charsView()) {
 			if (c != hero) passable[c.pos] = false;
 		}
 		PathFinder.buildDistanceMap(targetCh.pos, passable);
@@ -159,7 +159,7 @@ public class Challenge extends ArmorAbility {
 		}
 
 		boolean bossTarget = Char.hasProp(targetCh, Char.Property.BOSS);
-		for (Char toFreeze : Actor.chars()){
+		for (Char toFreeze : Actor.charsView()){
 			if (toFreeze != targetCh && toFreeze.alignment != Char.Alignment.ALLY && !(toFreeze instanceof NPC)
 				&& (!bossTarget || !(Char.hasProp(targetCh, Char.Property.BOSS) || Char.hasProp(targetCh, Char.Property.BOSS_MINION)))) {
 				Actor.delayChar(toFreeze, DuelParticipant.DURATION);
@@ -229,7 +229,7 @@ public class Challenge extends ArmorAbility {
 				detach();
 			} else {
 				Char other = null;
-				for (Char ch : Actor.chars()){
+				for (Char ch : Actor.charsView()){
 					if (ch != target && ch.buff(DuelParticipant.class) != null){
 						other = ch;
 					}
@@ -283,7 +283,7 @@ public class Challenge extends ArmorAbility {
 				}
 			}
 
-			for (Char ch : Actor.chars()) {
+			for (Char ch : Actor.charsView()) {
 				if (ch.buff(SpectatorFreeze.class) != null) {
 					ch.buff(SpectatorFreeze.class).detach();
 				}
@@ -197,7 +197,7 @@ public class ElementalStrike extends ArmorAbility {
 	private void preAttackEffect(ConeAOE cone, Hero hero, Weapon.Enchantment ench){
 
 		int targetsHit = 0;
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch.alignment == Char.Alignment.ENEMY && cone.cells.contains(ch.pos)){
 				targetsHit++;
 			}
@@ -256,7 +256,7 @@ public class ElementalStrike extends ArmorAbility {
 	private void perCellEffect(ConeAOE cone, Weapon.Enchantment ench){
 
 		int targetsHit = 0;
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch.alignment == Char.Alignment.ENEMY && cone.cells.contains(ch.pos)){
 				targetsHit++;
 			}
@@ -330,7 +330,7 @@ public class ElementalStrike extends ArmorAbility {
 
 		ArrayList<Char> affected = new ArrayList<>();
 
-		for (Char ch : Actor.chars()) {
+		for (Char ch : Actor.charsView()) {
 			if (ch.alignment != Char.Alignment.ALLY && cone.cells.contains(ch.pos)) {
 				affected.add(ch);
 			}
@@ -132,7 +132,7 @@ public class SpiritHawk extends ArmorAbility {
 	}
 
 	private static HawkAlly getHawk(){
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch instanceof HawkAlly){
 				return (HawkAlly) ch;
 			}
@@ -265,7 +265,7 @@ public class SpiritHawk extends ArmorAbility {
 		@Override
 		public String description() {
 			String message = Messages.get(this, "desc", (int)timeRemaining);
-			if (Actor.chars().contains(this)){
+			if (Actor.containsChar(this)){
 				message += "\n\n" + Messages.get(this, "desc_remaining", (int)timeRemaining);
 				if (dodgesUsed < 2*Dungeon.hero.pointsInTalent(Talent.SWIFT_SPIRIT)){
 					message += "\n" + Messages.get(this, "desc_dodges", (2*Dungeon.hero.pointsInTalent(Talent.SWIFT_SPIRIT) - dodgesUsed));
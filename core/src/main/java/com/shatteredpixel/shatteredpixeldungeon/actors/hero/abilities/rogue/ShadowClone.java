@@ -135,7 +135,7 @@ public class ShadowClone extends ArmorAbility {
 	}
 
 	private static ShadowAlly getShadowAlly(){
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch instanceof ShadowAlly){
 				return (ShadowAlly) ch;
 			}
@@ -126,7 +126,7 @@ public class SmokeBomb extends ArmorAbility {
 
 	public static <T extends Mob> void doBodyReplacement(Hero hero, Talent talent, Class<T> ninjaLogClass) {
 		if(!hero.hasTalent(talent)) return;
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ninjaLogClass.isInstance(ch)){
 				ch.die(null);
 			}
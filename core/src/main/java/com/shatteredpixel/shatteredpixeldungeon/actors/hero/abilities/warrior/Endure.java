@@ -123,7 +123,7 @@ public class Endure extends ArmorAbility {
 			damageBonus *= 1f + 0.15f*Dungeon.hero.pointsInTalent(Talent.SUSTAINED_RETRIBUTION);
 
 			int nearby = 0;
-			for (Char ch : Actor.chars()){
+			for (Char ch : Actor.charsView()){
 				if (ch.alignment == Char.Alignment.ENEMY && Dungeon.level.distance(target.pos, ch.pos) <= 2){
 					nearby ++;
 				}
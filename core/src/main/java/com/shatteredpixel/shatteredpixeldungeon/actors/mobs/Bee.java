@@ -164,7 +164,7 @@ public class Bee extends Mob {
 		}else {
 			
 			//try to find a new enemy in these circumstances
-			if (enemy == null || !enemy.isAlive() || !Actor.chars().contains(enemy) || state == WANDERING
+			if (enemy == null || !enemy.isAlive() || !Actor.containsChar(enemy) || state == WANDERING
 					|| Dungeon.level.distance(enemy.pos, potPos) > 3
 					|| (alignment == Alignment.ALLY && enemy.alignment == Alignment.ALLY)
 					|| (buff( Amok.class ) == null && enemy.isInvulnerable(getClass()))){
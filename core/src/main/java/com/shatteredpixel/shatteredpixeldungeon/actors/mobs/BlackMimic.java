@@ -431,7 +431,7 @@ public class BlackMimic extends Mob {
 			turnsSinceLastAbility = 0;
 			if (!isCopy)
 				yell(Messages.get(this, "notice"));
-			for (Char ch : Actor.chars()){
+			for (Char ch : Actor.charsView()){
 				if (ch instanceof DriedRose.GhostHero){
 					((DriedRose.GhostHero) ch).sayBoss();
 				}
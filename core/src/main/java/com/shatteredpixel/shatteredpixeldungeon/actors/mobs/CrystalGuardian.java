@@ -181,7 +181,7 @@ public class CrystalGuardian extends Mob{
 		if (HP <= 0){
 			HP = 1;
 
-			for (Buff b : buffs()){
+			for (Buff b : buffsView()){
 				if (!(b instanceof Doom || b instanceof Cripple)) {
 					b.detach();
 				}
@@ -380,7 +380,7 @@ public class CrystalSpire extends Mob {
 						}
 
 						Bestiary.skipCountingEncounters = true;
-						for (Char ch : Actor.chars()){
+						for (Char ch : Actor.charsView()){
 							if (fieldOfView[ch.pos]) {
 								if (ch instanceof CrystalGuardian) {
 									ch.damage(ch.HT, new SpireSpike());
@@ -412,7 +412,7 @@ public class CrystalSpire extends Mob {
 						}
 
 						boolean affectingGuardians = false;
-						for (Char ch : Actor.chars()) {
+						for (Char ch : Actor.charsView()) {
 							if (ch instanceof CrystalWisp) {
 								if (((CrystalWisp) ch).state != ((CrystalWisp)ch).HUNTING && ((CrystalWisp) ch).target != pos) {
 									((CrystalWisp) ch).beckon(pos);
@@ -436,7 +436,7 @@ public class CrystalSpire extends Mob {
 							}
 							PathFinder.buildDistanceMap(pos, passable);
 
-							for (Char ch : Actor.chars()) {
+							for (Char ch : Actor.charsView()) {
 								if (ch instanceof CrystalGuardian){
 									if (((CrystalGuardian) ch).state == ((CrystalGuardian) ch).SLEEPING) {
 
@@ -127,7 +127,7 @@ public class DM100 extends Mob implements Callback {
 	@Override
 	protected boolean canAttack( Char enemy ) {
 		return super.canAttack(enemy)
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos == enemy.pos;
+				|| Ballistica.reaches( pos, enemy.pos, Ballistica.MAGIC_BOLT );
 	}
 	
 	//used so resistances can differentiate between melee and magical attacks
@@ -137,7 +137,7 @@ public class DM100 extends Mob implements Callback {
 	protected boolean doAttack( Char enemy ) {
 
 		if (Dungeon.level.adjacent( pos, enemy.pos )
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos != enemy.pos) {
+				|| !Ballistica.reaches( pos, enemy.pos, Ballistica.MAGIC_BOLT )) {
 			
 			return super.doAttack( enemy );
 			
@@ -73,14 +73,14 @@ public class EbonyMimic extends Mimic {
 	public void stopHiding(){
 		state = HUNTING;
 		if (sprite != null) sprite.idle();
-		if (Actor.chars().contains(this) && Dungeon.level.heroFOV[pos]) {
+		if (Actor.containsChar(this) && Dungeon.level.heroFOV[pos]) {
 			enemy = Dungeon.hero;
 			target = Dungeon.hero.pos;
 			GLog.w(Messages.get(this, "reveal") );
 			CellEmitter.get(pos).burst(Speck.factory(Speck.STAR), 10);
 			Sample.INSTANCE.play(Assets.Sounds.MIMIC, 1, 0.85f);
 		}
-		if (Actor.chars().contains(this) && Dungeon.level.map[pos] == Terrain.DOOR){
+		if (Actor.containsChar(this) && Dungeon.level.map[pos] == Terrain.DOOR){
 			Door.enter( pos );
 		}
 	}
@@ -183,7 +183,7 @@ public abstract class Elemental extends Mob {
 		if (super.canAttack(enemy)){
 			return true;
 		} else {
-			return rangedCooldown < 0 && new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT ).collisionPos == enemy.pos;
+			return rangedCooldown < 0 && Ballistica.reaches( pos, enemy.pos, Ballistica.MAGIC_BOLT );
 		}
 	}
 	
@@ -191,7 +191,7 @@ public abstract class Elemental extends Mob {
 		
 		if (Dungeon.level.adjacent( pos, enemy.pos )
 				|| rangedCooldown > 0
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT ).collisionPos != enemy.pos) {
+				|| !Ballistica.reaches( pos, enemy.pos, Ballistica.MAGIC_BOLT )) {
 			
 			return super.doAttack( enemy );
 			
@@ -351,7 +351,7 @@ public abstract class Elemental extends Mob {
 			if (super.canAttack(enemy)){
 				return true;
 			} else {
-				return rangedCooldown < 0 && new Ballistica( pos, enemy.pos, Ballistica.STOP_SOLID | Ballistica.STOP_TARGET ).collisionPos == enemy.pos;
+				return rangedCooldown < 0 && Ballistica.reaches( pos, enemy.pos, Ballistica.STOP_SOLID | Ballistica.STOP_TARGET );
 			}
 		}
 
@@ -361,13 +361,13 @@ public abstract class Elemental extends Mob {
 
 				return super.doAttack( enemy );
 
-			} else if (new Ballistica( pos, enemy.pos, Ballistica.STOP_SOLID | Ballistica.STOP_TARGET ).collisionPos == enemy.pos) {
+			} else if (Ballistica.reaches( pos, enemy.pos, Ballistica.STOP_SOLID | Ballistica.STOP_TARGET )) {
 
 				//set up an attack for next turn
 				ArrayList<Integer> candidates = new ArrayList<>();
 				for (int i : PathFinder.NEIGHBOURS8){
 					int target = enemy.pos + i;
-					if (target != pos && new Ballistica(pos, target, Ballistica.STOP_SOLID | Ballistica.STOP_TARGET).collisionPos == target){
+					if (target != pos && Ballistica.reaches( pos, target, Ballistica.STOP_SOLID | Ballistica.STOP_TARGET )){
 						candidates.add(target);
 					}
 				}
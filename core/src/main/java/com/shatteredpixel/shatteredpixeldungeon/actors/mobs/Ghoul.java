@@ -231,7 +231,7 @@ public class Ghoul extends Mob {
 	@Override
 	protected synchronized void onRemove() {
 		if (beingLifeLinked) {
-			for (Buff buff : buffs()) {
+			for (Buff buff : buffsView()) {
 				if (buff instanceof SacrificialFire.Marked){
 					//don't remove and postpone so marked stays on
 					Buff.prolong(this, SacrificialFire.Marked.class, timesDowned*5);
@@ -408,7 +408,7 @@ public class Ghoul extends Mob {
 
 		public static Ghoul searchForHost(Ghoul dieing){
 
-			for (Char ch : Actor.chars()){
+			for (Char ch : Actor.charsView()){
 				//don't count hero ally ghouls or duel frozen ghouls
 				if (ch != dieing && ch instanceof Ghoul
 						&& ch.alignment == dieing.alignment
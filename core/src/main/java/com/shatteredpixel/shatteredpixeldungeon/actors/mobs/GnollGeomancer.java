@@ -662,14 +662,14 @@ public class GnollGeomancer extends Mob {
 
 		for (int i = 0; i < Dungeon.level.length(); i++){
 			if (source.fieldOfView[i] && Dungeon.level.map[i] == Terrain.MINE_BOULDER){
-				if (new Ballistica(i, target.pos, Ballistica.PROJECTILE).collisionPos == target.pos){
+				if (Ballistica.reaches( i, target.pos, Ballistica.PROJECTILE )){
 					candidateRocks.add(i);
 				}
 			}
 		}
 
 		//ignore rocks already being thrown
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch instanceof GnollGeomancer && ((GnollGeomancer) ch).throwingRocksFromPos != null){
 				for (int i : ((GnollGeomancer) ch).throwingRocksFromPos){
 					candidateRocks.remove((Integer)i);
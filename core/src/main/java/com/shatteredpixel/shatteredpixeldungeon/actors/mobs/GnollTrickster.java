@@ -87,7 +87,7 @@ public class GnollTrickster extends Gnoll {
 	@Override
 	protected boolean canAttack( Char enemy ) {
 		return !Dungeon.level.adjacent( pos, enemy.pos )
-				&& (super.canAttack(enemy) || new Ballistica( pos, enemy.pos, Ballistica.PROJECTILE).collisionPos == enemy.pos);
+				&& (super.canAttack(enemy) || Ballistica.reaches( pos, enemy.pos, Ballistica.PROJECTILE ));
 	}
 
 	@Override
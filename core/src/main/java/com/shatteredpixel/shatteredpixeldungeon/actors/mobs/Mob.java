@@ -306,7 +306,7 @@ public abstract class Mob extends Char {
 				state = HUNTING;
 				return enemy;
 			}
-			for (Char ch : Actor.chars()) {
+			for (Char ch : Actor.charsView()) {
 				if (ch != this && fieldOfView[ch.pos] &&
 						ch.buff(StoneOfAggression.Aggression.class) != null) {
 					state = HUNTING;
@@ -318,7 +318,7 @@ public abstract class Mob extends Char {
 		//find a new enemy if..
 		boolean newEnemy = false;
 		//we have no enemy, or the current one is dead/missing
-		if ( enemy == null || !enemy.isAlive() || !Actor.chars().contains(enemy) || state == WANDERING) {
+		if ( enemy == null || !enemy.isAlive() || !Actor.containsChar(enemy) || state == WANDERING) {
 			newEnemy = true;
 		//We are amoked and current enemy is the hero
 		} else if (buff( Amok.class ) != null && enemy == Dungeon.hero) {
@@ -1106,7 +1106,7 @@ public abstract class Mob extends Char {
 		public boolean act( boolean enemyInFOV, boolean justAlerted ) {
 
 			//debuffs cause mobs to wake as well
-			for (Buff b : buffs()){
+			for (Buff b : buffsView()){
 				if (b.type == Buff.buffType.NEGATIVE){
 					awaken(enemyInFOV);
 					if (state == SLEEPING){
@@ -1121,7 +1121,7 @@ public abstract class Mob extends Char {
 
 				float closestHostileDist = Float.POSITIVE_INFINITY;
 
-				for (Char ch : Actor.chars()){
+				for (Char ch : Actor.charsView()){
 					if (fieldOfView[ch.pos] && ch.invisible == 0 && ch.alignment != alignment && ch.alignment != Alignment.NEUTRAL){
 						float chDist = ch.stealth() + distance(ch);
 						//silent steps rogue talent, which also applies to rogue's shadow clone
@@ -123,7 +123,7 @@ public abstract class Shaman extends Mob {
 	@Override
 	protected boolean canAttack( Char enemy ) {
 		return super.canAttack(enemy)
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos == enemy.pos;
+				|| Ballistica.reaches( pos, enemy.pos, Ballistica.MAGIC_BOLT );
 	}
 
 	@Override
@@ -142,7 +142,7 @@ public abstract class Shaman extends Mob {
 	protected boolean doAttack(Char enemy ) {
 
 		if (Dungeon.level.adjacent( pos, enemy.pos )
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos != enemy.pos) {
+				|| !Ballistica.reaches( pos, enemy.pos, Ballistica.MAGIC_BOLT )) {
 			
 			return super.doAttack( enemy );
 			
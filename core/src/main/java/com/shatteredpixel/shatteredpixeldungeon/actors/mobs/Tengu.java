@@ -182,7 +182,7 @@ public class Tengu extends Mob {
 	//Tengu is immune to debuffs and damage when removed from the level
 	@Override
 	public boolean add(Buff buff) {
-		if (Actor.chars().contains(this) || buff instanceof Doom || loading){
+		if (Actor.containsChar(this) || buff instanceof Doom || loading){
 			return super.add(buff);
 		}
 		return false;
@@ -299,7 +299,7 @@ public class Tengu extends Mob {
 	
 	@Override
 	protected boolean canAttack( Char enemy ) {
-		return new Ballistica( pos, enemy.pos, Ballistica.PROJECTILE).collisionPos == enemy.pos;
+		return Ballistica.reaches( pos, enemy.pos, Ballistica.PROJECTILE );
 	}
 
 	private void jump() {
@@ -400,7 +400,7 @@ public class Tengu extends Mob {
 			if (HP <= HT/2) BossHealthBar.bleed(true);
 			if (HP == HT) {
 				yell(Messages.get(this, "notice_gotcha", Dungeon.hero.name()));
-				for (Char ch : Actor.chars()){
+				for (Char ch : Actor.charsView()){
 					if (ch instanceof DriedRose.GhostHero){
 						((DriedRose.GhostHero) ch).sayBoss();
 					}
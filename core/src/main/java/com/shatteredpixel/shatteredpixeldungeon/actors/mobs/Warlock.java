@@ -129,13 +129,13 @@ public class Warlock extends Mob implements Callback {
 	@Override
 	protected boolean canAttack( Char enemy ) {
 		return super.canAttack(enemy)
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos == enemy.pos;
+				|| Ballistica.reaches( pos, enemy.pos, Ballistica.MAGIC_BOLT );
 	}
 	
 	protected boolean doAttack( Char enemy ) {
 
 		if (Dungeon.level.adjacent( pos, enemy.pos )
-				|| new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos != enemy.pos) {
+				|| !Ballistica.reaches( pos, enemy.pos, Ballistica.MAGIC_BOLT )) {
 			
 			return super.doAttack( enemy );
 			
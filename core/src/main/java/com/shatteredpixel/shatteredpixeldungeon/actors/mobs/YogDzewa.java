@@ -541,7 +541,7 @@ public class YogDzewa extends Mob {
 	}
 
 	private YogFist findFist(){
-		for ( Char c : Actor.chars() ){
+		for ( Char c : Actor.charsView() ){
 			if (c instanceof YogFist){
 				return (YogFist) c;
 			}
@@ -627,7 +627,7 @@ public class YogDzewa extends Mob {
 		if (!BossHealthBar.isAssigned()) {
 			BossHealthBar.assignBoss(this);
 			yell(Messages.get(this, "notice"));
-			for (Char ch : Actor.chars()){
+			for (Char ch : Actor.charsView()){
 				if (ch instanceof DriedRose.GhostHero){
 					((DriedRose.GhostHero) ch).sayBoss();
 				}
@@ -130,7 +130,7 @@ public abstract class YogFist extends Mob {
 	@Override
 	protected boolean canAttack(Char enemy) {
 		if (rangedCooldown <= 0){
-			return new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos == enemy.pos;
+			return Ballistica.reaches( pos, enemy.pos, Ballistica.MAGIC_BOLT );
 		} else {
 			return super.canAttack(enemy);
 		}
@@ -188,7 +188,7 @@ public abstract class YogFist extends Mob {
 	@Override
 	public void die(Object cause) {
 		super.die(cause);
-		for ( Char c : Actor.chars() ){
+		for ( Char c : Actor.charsView() ){
 			if (c instanceof YogDzewa){
 				((YogDzewa) c).processFistDeath();
 			}
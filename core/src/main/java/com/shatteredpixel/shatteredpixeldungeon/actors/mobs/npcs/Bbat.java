@@ -97,7 +97,7 @@ public class Bbat extends Mob {
             return super.canAttack(enemy);
         } else {
             boolean[] passable = BArray.not(Dungeon.level.solid, null);
-            for (Char ch : Actor.chars()) {
+            for (Char ch : Actor.charsView()) {
                 //our own tile is always passable
                 passable[ch.pos] = ch == this;
             }
@@ -448,7 +448,7 @@ public class Wandmaker extends NPC {
 				}
 
 				//or if they are corpse dust cursed
-				for (Buff b : Dungeon.hero.buffs()) {
+				for (Buff b : Dungeon.hero.buffsView()) {
 					if (b instanceof CorpseDust.DustGhostSpawner) {
 						return true;
 					}
@@ -513,23 +513,26 @@ public class Speck extends Image {
 
 	public static Emitter.Factory factory( final int type, final boolean lightMode ) {
 
-		Emitter.Factory factory = factories.get( type );
+		//may be called from both the actor and render threads
+		synchronized (factories) {
+			Emitter.Factory factory = factories.get( type );
 
-		if (factory == null) {
-			factory = new Emitter.Factory() {
-				@Override
-				public void emit ( Emitter emitter, int index, float x, float y ) {
-					Speck p = (Speck)emitter.recycle( Speck.class );
-					p.reset( index, x, y, type );
-				}
-				@Override
-				public boolean lightMode() {
-					return lightMode;
-				}
-			};
-			factories.put( type, factory );
-		}
+			if (factory == null) {
+				factory = new Emitter.Factory() {
+					@Override
+					public void emit ( Emitter emitter, int index, float x, float y ) {
+						Speck p = (Speck)emitter.recycle( Speck.class );
+						p.reset( index, x, y, type );
+					}
+					@Override
+					public boolean lightMode() {
+						return lightMode;
+					}
+				};
+				factories.put( type, factory );
+			}
 
-		return factory;
+			return factory;
+		}
 	}
 }
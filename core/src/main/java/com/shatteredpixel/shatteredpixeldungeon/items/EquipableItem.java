@@ -177,6 +177,12 @@ public abstract class EquipableItem extends Item {
 		if (bundle.contains(CUSTOM_NOTE_ID))    customNoteID = bundle.getInt(CUSTOM_NOTE_ID);
 	}
 
+	@Override
+	protected void copyFields(Item copy) {
+		super.copyFields(copy);
+		((EquipableItem)copy).customNoteID = customNoteID;
+	}
+
 	public interface Tierable {
 		int tier();
 	}
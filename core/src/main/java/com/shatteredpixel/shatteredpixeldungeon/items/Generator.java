@@ -296,8 +296,27 @@ public class Generator {
 			subOrderings.put(Scroll.class, new ArrayList<>(Arrays.asList(Scroll.class, ExoticScroll.class, Spell.class, ArcaneResin.class)));
 		}
 
+		//the category order only depends on an item's class, so it is worked out once per class
+		private static final HashMap<Class, Integer> classOrders = new HashMap<>();
+
 		//in case there are multiple matches, this will return the latest match
 		public static int order( Item item ) {
+			int result;
+			synchronized (classOrders) {
+				Integer cached = classOrders.get( item.getClass() );
+				if (cached == null) {
+					cached = classOrder( item );
+					classOrders.put( item.getClass(), cached );
+				}
+				result = cached;
+			}
+			if (result != -1) return result;
+
+			//items without a category-defined order are sorted based on the spritesheet
+			return Short.MAX_VALUE+item.image();
+		}
+
+		private static int classOrder( Item item ) {
 			int catResult = -1, subResult = 0;
 			for (int i=0; i < values().length; i++) {
 				ArrayList<Class> subOrdering = subOrderings.get(values()[i].superClass);
@@ -316,9 +335,7 @@ public class Generator {
 				}
 			}
 			if (catResult != -1) return catResult*100 + subResult;
-
-			//items without a category-defined order are sorted based on the spritesheet
-			return Short.MAX_VALUE+item.image();
+			return -1;
 		}
 
 		static {
@@ -595,6 +612,8 @@ public class Generator {
 						cat.defaultProbsTotal[i] = cat.defaultProbs[i] + cat.defaultProbs2[i];
 					}
 				}
+				//so that generating items never has to look up constructors
+				Reflection.prepare(cat.classes);
 			}
 		}
 	}
@@ -57,7 +57,6 @@ import com.shatteredpixel.shatteredpixeldungeon.utils.GLog;
 import com.watabou.noosa.audio.Sample;
 import com.watabou.utils.Bundlable;
 import com.watabou.utils.Bundle;
-import com.watabou.utils.Reflection;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -158,11 +157,7 @@ public class Heap implements Bundlable {
 	}
 
 	public static Item getClone(Item toClone) {
-		Bundle lol = new Bundle();
-		toClone.storeInBundle(lol);
-		Item clone = Reflection.newInstance(toClone.getClass());
-		clone.restoreFromBundle(lol);
-		return clone;
+		return toClone.duplicate();
 	}
 
 	public Item peek() {
@@ -220,7 +220,7 @@ public class Honeypot extends Item {
 		//returns up to quantity bees which match the current pot Pos
 		private ArrayList<Bee> findBees( int potPos ){
 			ArrayList<Bee> bees = new ArrayList<>();
-			for (Char c : Actor.chars()){
+			for (Char c : Actor.charsView()){
 				if (c instanceof Bee && ((Bee) c).potPos() == potPos){
 					bees.add((Bee) c);
 					if (bees.size() >= quantity) {
@@ -235,7 +235,7 @@ public class Honeypot extends Item {
 		//returns up to quantity bees which match the current pot holder
 		private ArrayList<Bee> findBees( Char potHolder ){
 			ArrayList<Bee> bees = new ArrayList<>();
-			for (Char c : Actor.chars()){
+			for (Char c : Actor.charsView()){
 				if (c instanceof Bee && ((Bee) c).potHolderID() == potHolder.id()){
 					bees.add((Bee) c);
 					if (bees.size() >= quantity) {
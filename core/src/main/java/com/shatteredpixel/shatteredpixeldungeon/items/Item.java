@@ -57,8 +57,9 @@ import com.watabou.utils.Callback;
 import com.watabou.utils.Reflection;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 
 public class Item implements Bundlable {
 
@@ -131,8 +132,13 @@ public class Item implements Bundlable {
 	public boolean doPickUp(Hero hero, int pos, float time) {
 		if (collect( hero.belongings.backpack )) {
 			
-			GameScene.pickUp( this, pos );
-			Sample.INSTANCE.play( Assets.Sounds.ITEM );
+			if (collectBatch > 0) {
+				batchPickUp = this;
+				batchPickUpPos = pos;
+			} else {
+				GameScene.pickUp( this, pos );
+				Sample.INSTANCE.play( Assets.Sounds.ITEM );
+			}
 			if (time > 0f)
 				hero.spendAndNext( time );
 			return true;
@@ -216,15 +222,13 @@ public class Item implements Bundlable {
 			return true;
 		}
 
-		ArrayList<Item> items = container.items;
-
-		if (items.contains( this )) {
+		if (container.items.contains( this )) {
 			return true;
 		}
 
-		for (Item item:items) {
-			if (item instanceof Bag && ((Bag)item).canHold( this )) {
-				if (collect( (Bag)item )){
+		for (Bag bag : container.bags()) {
+			if (bag.canHold( this )) {
+				if (collect( bag )){
 					return true;
 				}
 			}
@@ -235,46 +239,44 @@ public class Item implements Bundlable {
 		}
 		
 		if (stackable) {
-			for (Item item:items) {
-				if (isSimilar( item )) {
-					item.merge( this );
-					item.updateQuickslot();
-					if (Dungeon.hero != null && Dungeon.hero.isAlive()) {
-						Badges.validateItemLevelAquired( this );
-						Talent.onItemCollected(Dungeon.hero, item);
-						if (isIdentified()) Catalog.setSeen(getClass());
-					}
-					if (TippedDart.lostDarts > 0){
-						Dart d = new Dart();
-						d.quantity(TippedDart.lostDarts);
-						TippedDart.lostDarts = 0;
-						if (!d.collect()){
-							//have to handle this in an actor as we can't manipulate the heap during pickup
-							Actor.add(new Actor() {
-								{ actPriority = VFX_PRIO; }
-								@Override
-								protected boolean act() {
-									Dungeon.level.drop(d, Dungeon.hero.pos).sprite.drop();
-									Actor.remove(this);
-									return true;
-								}
-							});
-						}
+			Item item = container.findSimilar( this );
+			if (item != null) {
+				item.merge( this );
+				item.updateQuickslot();
+				if (Dungeon.hero != null && Dungeon.hero.isAlive()) {
+					Badges.validateItemLevelAquired( this );
+					Talent.onItemCollected(Dungeon.hero, item);
+					if (isIdentified()) setSeen();
+				}
+				if (TippedDart.lostDarts > 0){
+					Dart d = new Dart();
+					d.quantity(TippedDart.lostDarts);
+					TippedDart.lostDarts = 0;
+					if (!d.collect()){
+						//have to handle this in an actor as we can't manipulate the heap during pickup
+						Actor.add(new Actor() {
+							{ actPriority = VFX_PRIO; }
+							@Override
+							protected boolean act() {
+								Dungeon.level.drop(d, Dungeon.hero.pos).sprite.drop();
+								Actor.remove(this);
+								return true;
+							}
+						});
 					}
-					return true;
 				}
+				return true;
 			}
 		}
 
 		if (Dungeon.hero != null && Dungeon.hero.isAlive()) {
 			Badges.validateItemLevelAquired( this );
 			Talent.onItemCollected( Dungeon.hero, this );
-			if (isIdentified()) Catalog.setSeen(getClass());
+			if (isIdentified()) setSeen();
 		}
 
-		items.add( this );
+		container.addSorted( this );
 		Dungeon.quickslot.replacePlaceholder(this);
-		Collections.sort( items, itemComparator );
 		updateQuickslot();
 		return true;
 
@@ -283,22 +285,52 @@ public class Item implements Bundlable {
 	public final boolean collect() {
 		return collect( Dungeon.hero.belongings.backpack );
 	}
+
+	//while many items are collected together (see Belongings.collectAll), work that only needs
+	// to happen once is held back until the batch ends: catalog badges, and the pickup sound and animation
+	private static int collectBatch = 0;
+	private static LinkedHashSet<Class<?>> batchSeen = new LinkedHashSet<>();
+	private static Item batchPickUp;
+	private static int batchPickUpPos;
+
+	public static void beginCollectBatch(){
+		collectBatch++;
+	}
+
+	public static void endCollectBatch(){
+		if (--collectBatch > 0) return;
+
+		if (!batchSeen.isEmpty()) {
+			Catalog.setSeen( batchSeen );
+			batchSeen.clear();
+		}
+		if (batchPickUp != null) {
+			GameScene.pickUp( batchPickUp, batchPickUpPos );
+			Sample.INSTANCE.play( Assets.Sounds.ITEM );
+			batchPickUp = null;
+		}
+		updateQuickslot();
+	}
+
+	private void setSeen(){
+		if (collectBatch > 0) {
+			batchSeen.add( getClass() );
+		} else {
+			Catalog.setSeen( getClass() );
+		}
+	}
 	
 	//returns a new item if the split was sucessful and there are now 2 items, otherwise null
 	public Item split( long amount ){
 		if (amount <= 0 || amount >= quantity()) {
 			return null;
 		} else {
-			//pssh, who needs copy constructors?
-			Item split = Reflection.newInstance(getClass());
+			Item split = duplicate();
 			
 			if (split == null){
 				return null;
 			}
 			
-			Bundle copy = new Bundle();
-			this.storeInBundle(copy);
-			split.restoreFromBundle(copy);
 			split.quantity(amount);
 			quantity -= amount;
 			
@@ -311,11 +343,50 @@ public class Item implements Bundlable {
 		if (dupe == null){
 			return null;
 		}
-		Bundle copy = new Bundle();
-		this.storeInBundle(copy);
-		dupe.restoreFromBundle(copy);
+		if (copiesDirectly(getClass())){
+			copyFields(dupe);
+		} else {
+			Bundle copy = new Bundle();
+			this.storeInBundle(copy);
+			dupe.restoreFromBundle(copy);
+		}
 		return dupe;
 	}
+
+	//copies everything this item would store in a bundle into a fresh instance of the same class.
+	//Classes which bundle more state should override this, call super, and copy their own fields.
+	protected void copyFields( Item copy ){
+		copy.quantity = quantity;
+		copy.level = level;
+		copy.levelKnown = levelKnown;
+		copy.cursed = cursed;
+		copy.cursedKnown = cursedKnown;
+		copy.keptThoughLostInvent = keptThoughLostInvent;
+		copy.wereOofed = wereOofed;
+	}
+
+	//an item can only be copied through copyFields if every class from it up to Item which handles
+	// bundles also overrides copyFields. Anything else still gets copied through a bundle.
+	private static final HashMap<Class<?>, Boolean> directCopies = new HashMap<>();
+
+	private static boolean copiesDirectly( Class<?> cls ){
+		synchronized (directCopies) {
+			Boolean result = directCopies.get( cls );
+			if (result == null) {
+				result = true;
+				for (Class<?> c = cls; c != Item.class; c = c.getSuperclass()) {
+					if ((Reflection.declaresMethod( c, "storeInBundle", Bundle.class )
+							|| Reflection.declaresMethod( c, "restoreFromBundle", Bundle.class ))
+							&& !Reflection.declaresMethod( c, "copyFields", Item.class )) {
+						result = false;
+						break;
+					}
+				}
+				directCopies.put( cls, result );
+			}
+			return result;
+		}
+	}
 	
 	public final Item detach( Bag container ) {
 		
@@ -260,7 +260,7 @@ abstract public class KindOfWeapon extends EquipableItem {
 			return false;
 		} else {
 			boolean[] passable = BArray.not(Dungeon.level.solid, null);
-			for (Char ch : Actor.chars()) {
+			for (Char ch : Actor.charsView()) {
 				if (ch != owner) passable[ch.pos] = false;
 			}
 			
@@ -377,7 +377,7 @@ public class Armor extends EquipableItem implements EquipableItem.Tierable {
 		if (hasGlyph(Swiftness.class, owner)) {
 			boolean enemyNear = false;
 			//for each enemy, check if they are adjacent, or within 2 tiles and an adjacent cell is open
-			for (Char ch : Actor.chars()){
+			for (Char ch : Actor.charsView()){
 				if ( Dungeon.level.distance(ch.pos, owner.pos) <= 2 && owner.alignment != ch.alignment && ch.alignment != Char.Alignment.NEUTRAL){
 					if (Dungeon.level.adjacent(ch.pos, owner.pos)){
 						enemyNear = true;
@@ -29,6 +29,7 @@ import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
 import com.shatteredpixel.shatteredpixeldungeon.actors.Char;
 import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.LostInventory;
 import com.shatteredpixel.shatteredpixeldungeon.actors.hero.Hero;
+import com.shatteredpixel.shatteredpixeldungeon.items.Generator;
 import com.shatteredpixel.shatteredpixeldungeon.items.Item;
 import com.shatteredpixel.shatteredpixeldungeon.scenes.GameScene;
 import com.shatteredpixel.shatteredpixeldungeon.windows.WndQuickBag;
@@ -36,7 +37,12 @@ import com.watabou.utils.Bundlable;
 import com.watabou.utils.Bundle;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 public class Bag extends Item implements Iterable<Item> {
 
@@ -52,7 +58,8 @@ public class Bag extends Item implements Iterable<Item> {
 	
 	public Char owner;
 	
-	public ArrayList<Item> items = new ArrayList<>();
+	//indexed by class, see ItemList
+	public ArrayList<Item> items = new ItemList();
 
 	public int capacity(){
 		return 55; // default container size
@@ -170,16 +177,79 @@ public class Bag extends Item implements Iterable<Item> {
 	}
 	
 	public boolean contains( Item item ) {
-		for (Item i : items) {
-			if (i == item) {
-				return true;
-			} else if (i instanceof Bag && ((Bag)i).contains( item )) {
+		if (items.contains( item )) {
+			return true;
+		}
+		for (Bag bag : bags()) {
+			if (bag.contains( item )) {
 				return true;
 			}
 		}
 		return false;
 	}
 
+	//items is a public field and may be replaced with any list (e.g. when rankings restore a backpack),
+	// so it is wrapped in an indexed list again whenever that happens
+	private ItemList itemList() {
+		if (!(items instanceof ItemList)) {
+			ItemList list = new ItemList();
+			list.addAll( items );
+			items = list;
+		}
+		return (ItemList)items;
+	}
+
+	//bags held directly in this bag, in inventory order
+	public List<Bag> bags() {
+		return itemList().bags();
+	}
+
+	//returns an item held directly in this bag which the given item could stack with
+	//this only looks at items of the same class, as items only ever stack with their own class
+	public Item findSimilar( Item item ) {
+		for (Item i : itemList().ofClass( item.getClass() )) {
+			if (i != item && item.isSimilar( i )) {
+				return i;
+			}
+		}
+		return null;
+	}
+
+	//adds every item in this bag and its sub-bags which is an instance of the given class, in no particular order
+	public void findInstances( Class<?> itemClass, List<Item> result ) {
+		for (Map.Entry<Class<?>, ArrayList<Item>> entry : itemList().classes()) {
+			if (itemClass.isAssignableFrom( entry.getKey() )) {
+				result.addAll( entry.getValue() );
+			}
+		}
+		for (Bag bag : bags()) {
+			bag.findInstances( itemClass, result );
+		}
+	}
+
+	//adds every item in this bag and its sub-bags which is similar to the given item, in no particular order
+	public void findSimilar( Item similar, List<Item> result ) {
+		//placeholders (e.g. in the alchemy guide) are similar to any item of a broader type,
+		// and are never held, so if no item has the given item's class every item is checked
+		List<Item> candidates = itemList().ofClass( similar.getClass() );
+		if (candidates.isEmpty()) {
+			candidates = items;
+		}
+		for (Item i : candidates) {
+			if (i != similar && similar.isSimilar( i )) {
+				result.add( i );
+			}
+		}
+		for (Bag bag : bags()) {
+			bag.findSimilar( similar, result );
+		}
+	}
+
+	//adds an item, keeping items in the order given by Item.itemComparator
+	public void addSorted( Item item ) {
+		itemList().addSorted( item );
+	}
+
 	public boolean canHold( Item item ){
 		if (!loading && owner != null && owner.buff(LostInventory.class) != null
 			&& !item.keptThroughLostInventory()){
@@ -189,11 +259,7 @@ public class Bag extends Item implements Iterable<Item> {
 		if (items.contains(item) || item instanceof Bag || items.size() < capacity()){
 			return true;
 		} else if (item.stackable) {
-			for (Item i : items) {
-				if (item.isSimilar( i )) {
-					return true;
-				}
-			}
+			return findSimilar( item ) != null;
 		}
 		return false;
 	}
@@ -245,4 +311,248 @@ public class Bag extends Item implements Iterable<Item> {
 			}
 		}
 	}
+
+	//A list of items which also indexes them by class, so that checking whether an item is held,
+	// finding items to stack with, and finding sub-bags don't need to scan every item.
+	//The index is updated by the common add/remove/set methods, any other change
+	// (e.g. addAll or a list iterator) is caught through modCount and causes a rebuild.
+	private static class ItemList extends ArrayList<Item> {
+
+		private final HashMap<Class<?>, ArrayList<Item>> byClass = new HashMap<>();
+		private ArrayList<Bag> bags = new ArrayList<>();
+		private boolean bagsDirty;
+
+		//modCount at the point the index was last up to date
+		private int indexedMod;
+
+		//whether the list was in Item.itemComparator order as of sortedMod
+		private boolean sorted;
+		private int sortedMod;
+		//most items are ordered by their class, but some are ordered by their image, which can change while
+		// they are held (e.g. when identified). These are kept with the order they had when last checked.
+		private final HashMap<Item, Integer> imageOrders = new HashMap<>();
+
+		private boolean indexed(){
+			return indexedMod == modCount;
+		}
+
+		private void reindex(){
+			if (indexed()) return;
+			byClass.clear();
+			for (Item item : this) {
+				index( item );
+			}
+			bagsDirty = true;
+			indexedMod = modCount;
+		}
+
+		private void index( Item item ){
+			ArrayList<Item> list = byClass.get( item.getClass() );
+			if (list == null) {
+				list = new ArrayList<>( 1 );
+				byClass.put( item.getClass(), list );
+			}
+			list.add( item );
+			if (item instanceof Bag) bagsDirty = true;
+		}
+
+		private void unindex( Item item ){
+			ArrayList<Item> list = byClass.get( item.getClass() );
+			if (list != null) {
+				for (int i = 0; i < list.size(); i++) {
+					if (list.get( i ) == item) {
+						list.remove( i );
+						break;
+					}
+				}
+				if (list.isEmpty()) byClass.remove( item.getClass() );
+			}
+			if (item instanceof Bag) bagsDirty = true;
+		}
+
+		List<Item> ofClass( Class<?> c ){
+			reindex();
+			ArrayList<Item> list = byClass.get( c );
+			return list != null ? list : Collections.<Item>emptyList();
+		}
+
+		Iterable<Map.Entry<Class<?>, ArrayList<Item>>> classes(){
+			reindex();
+			return byClass.entrySet();
+		}
+
+		List<Bag> bags(){
+			reindex();
+			if (bagsDirty) {
+				//a new list, so that anything still iterating over the old one is unaffected
+				bags = new ArrayList<>();
+				for (Item item : this) {
+					if (item instanceof Bag) bags.add( (Bag)item );
+				}
+				bagsDirty = false;
+			}
+			return bags;
+		}
+
+		void addSorted( Item item ){
+			if (!inOrder()) {
+				add( item );
+				sort( Item.itemComparator );
+				return;
+			}
+			//inserting after any equal items matches where a stable sort would put an item added to the end
+			int lo = 0, hi = size();
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (Item.itemComparator.compare( get( mid ), item ) <= 0) lo = mid + 1;
+				else                                                    hi = mid;
+			}
+			add( lo, item );
+			trackOrder( item );
+			sortedMod = modCount;
+		}
+
+		//only the items ordered by image need checking, unless the list was changed some other way
+		private boolean inOrder(){
+			if (!sorted || sortedMod != modCount) {
+				for (int i = 1; i < size(); i++) {
+					if (Item.itemComparator.compare( get( i-1 ), get( i ) ) > 0) {
+						return false;
+					}
+				}
+				markSorted();
+				return true;
+			}
+			for (Map.Entry<Item, Integer> entry : imageOrders.entrySet()) {
+				if (Generator.Category.order( entry.getKey() ) != entry.getValue()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void markSorted(){
+			imageOrders.clear();
+			for (Item item : this) {
+				trackOrder( item );
+			}
+			sorted = true;
+			sortedMod = modCount;
+		}
+
+		private void trackOrder( Item item ){
+			int order = Generator.Category.order( item );
+			if (order >= Short.MAX_VALUE) {
+				imageOrders.put( item, order );
+			}
+		}
+
+		@Override
+		public boolean contains( Object o ){
+			if (!(o instanceof Item)) return false;
+			for (Item item : ofClass( o.getClass() )) {
+				if (item == o) return true;
+			}
+			return false;
+		}
+
+		@Override
+		public boolean add( Item item ){
+			boolean wasIndexed = indexed();
+			super.add( item );
+			if (wasIndexed) {
+				index( item );
+				indexedMod = modCount;
+			}
+			return true;
+		}
+
+		@Override
+		public void add( int index, Item item ){
+			boolean wasIndexed = indexed();
+			super.add( index, item );
+			if (wasIndexed) {
+				index( item );
+				indexedMod = modCount;
+			}
+		}
+
+		@Override
+		public Item set( int index, Item item ){
+			sorted = false;
+			Item old = super.set( index, item );
+			if (indexed()) {
+				unindex( old );
+				index( item );
+			}
+			return old;
+		}
+
+		@Override
+		public Item remove( int index ){
+			boolean wasIndexed = indexed();
+			boolean wasSorted = sorted && sortedMod == modCount;
+			Item old = super.remove( index );
+			if (wasIndexed) {
+				unindex( old );
+				indexedMod = modCount;
+			}
+			//removing an item leaves the rest in order
+			if (wasSorted) {
+				imageOrders.remove( old );
+				sortedMod = modCount;
+			}
+			return old;
+		}
+
+		@Override
+		public boolean remove( Object o ){
+			boolean wasIndexed = indexed();
+			boolean wasSorted = sorted && sortedMod == modCount;
+			if (super.remove( o )) {
+				if (wasIndexed) {
+					unindex( (Item)o );
+					indexedMod = modCount;
+				}
+				if (wasSorted) {
+					imageOrders.remove( o );
+					sortedMod = modCount;
+				}
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void clear(){
+			super.clear();
+			byClass.clear();
+			bags = new ArrayList<>();
+			bagsDirty = false;
+			indexedMod = modCount;
+			markSorted();
+		}
+
+		@Override
+		public void sort( Comparator<? super Item> c ){
+			boolean wasIndexed = indexed();
+			super.sort( c );
+			if (wasIndexed) {
+				//sorting doesn't change which items are held, only bag order needs refreshing
+				bagsDirty = true;
+				indexedMod = modCount;
+			}
+			if (c == Item.itemComparator) {
+				markSorted();
+			}
+		}
+
+		//copies get their own index, and can be assigned back to a bag
+		@Override
+		public Object clone(){
+			ItemList copy = new ItemList();
+			copy.addAll( this );
+			return copy;
+		}
+	}
 }
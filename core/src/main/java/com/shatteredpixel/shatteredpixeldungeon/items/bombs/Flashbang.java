@@ -45,7 +45,7 @@ public class Flashbang extends Bomb {
 		super.explode(cell);
 
 		Level l = Dungeon.level;
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch.fieldOfView != null && ch.fieldOfView[cell]){
 				int power = 16 - 4*l.distance(ch.pos, cell);
 				if (power > 0){
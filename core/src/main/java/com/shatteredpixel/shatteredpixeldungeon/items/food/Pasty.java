@@ -128,7 +128,7 @@ public class Pasty extends Food {
 				Char target = null;
 
 				//charms an adjacent non-boss enemy, prioritizing the one the hero is focusing on
-				for (Char ch : Actor.chars()){
+				for (Char ch : Actor.charsView()){
 					if (!Char.hasProp(ch, Char.Property.BOSS)
 							&& !Char.hasProp(ch, Char.Property.MINIBOSS)
 							&& ch.alignment == Char.Alignment.ENEMY
@@ -72,7 +72,7 @@ public class PotionOfCleansing extends ExoticPotion {
 	}
 
 	public static void cleanse(Char ch, float duration){
-		for (Buff b : ch.buffs()){
+		for (Buff b : ch.buffsView()){
 			if (b.type == Buff.buffType.NEGATIVE
 					&& !(b instanceof AllyBuff)
 					&& !(b instanceof LostInventory)){
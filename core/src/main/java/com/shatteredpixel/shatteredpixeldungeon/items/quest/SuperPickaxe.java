@@ -95,7 +95,7 @@ public class SuperPickaxe extends Item {
         final Item item = this;
 
         if (Dungeon.level.insideMap(cell)) {
-            if (enemy != null && new Ballistica( user.pos, enemy.pos, Ballistica.PROJECTILE ).collisionPos == enemy.pos) {
+            if (enemy != null && Ballistica.reaches( user.pos, enemy.pos, Ballistica.PROJECTILE )) {
                 ((MissileSprite) user.sprite.parent.recycle(MissileSprite.class)).
                         reset(user.sprite,
                                 enemy.sprite,
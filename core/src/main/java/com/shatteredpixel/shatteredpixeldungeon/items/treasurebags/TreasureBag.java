@@ -33,9 +33,12 @@ import com.shatteredpixel.shatteredpixeldungeon.messages.Messages;
 import com.shatteredpixel.shatteredpixeldungeon.utils.GLog;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 
 public abstract class TreasureBag extends Item {
     private static final String AC_OPEN = "OPEN";
+    private static final String AC_OPEN_ALL = "OPEN_ALL";
     {
         defaultAction = AC_OPEN;
         stackable = true;
@@ -45,6 +48,7 @@ public abstract class TreasureBag extends Item {
     public ArrayList<String> actions(Hero hero) {
         ArrayList<String> actions =  super.actions(hero);
         actions.add(AC_OPEN);
+        if (quantity() > 1) actions.add(AC_OPEN_ALL);
         return actions;
     }
 
@@ -68,21 +72,44 @@ public abstract class TreasureBag extends Item {
     @Override
     public void execute(Hero hero, String action) {
         super.execute(hero, action);
-        if (action.equals(AC_OPEN)){
-            detach(hero.belongings.backpack);
-            ArrayList<Item> items = items();
-            for (Item item: items){
-                if (item != null) {
-                    if (!item.doPickUp(hero, hero.pos, 0f)) {
-                        Dungeon.level.drop(item, hero.pos).sprite.drop();
-                    } else {
-                        hero.spend(-Item.TIME_TO_PICK_UP);
-                        GLog.i(Messages.get(Hero.class, "you_now_have", item.name()));
+        if (action.equals(AC_OPEN) || action.equals(AC_OPEN_ALL)){
+            long opened;
+            if (action.equals(AC_OPEN_ALL)){
+                opened = quantity();
+                detachAll(hero.belongings.backpack);
+            } else {
+                opened = 1;
+                detach(hero.belongings.backpack);
+            }
+
+            //bags are opened one at a time inside a single batch, so a large stack never has all of
+            // its contents in memory at once, with one message per kind of item
+            LinkedHashSet<String> collected = new LinkedHashSet<>();
+            Item.beginCollectBatch();
+            try {
+                for (long i = 0; i < opened; i++){
+                    ArrayList<Item> items = items();
+                    HashSet<Item> failed = new HashSet<>(hero.belongings.collectAll(items, hero.pos));
+                    for (Item item: items){
+                        if (item != null) {
+                            if (failed.contains(item)) {
+                                Dungeon.level.drop(item, hero.pos).sprite.drop();
+                            } else {
+                                hero.spend(-Item.TIME_TO_PICK_UP);
+                                collected.add(item.name());
+                            }
+                        }
                     }
                 }
+            } finally {
+                Item.endCollectBatch();
+            }
+            for (String name : collected){
+                GLog.i(Messages.get(Hero.class, "you_now_have", name));
             }
-            Catalog.countUse(getClass());
-            hero.spendAndNext(Actor.TICK);
+            Catalog.countUses(getClass(), opened);
+            //opening takes the same time as opening each bag by itself
+            hero.spendAndNext(opened * Actor.TICK);
         }
     }
 }
@@ -134,10 +134,10 @@ public class ChaoticCenser extends Trinket {
 					boolean safeArea = false;
 
 					//shops are a safe area
-					for (Char ch : Actor.chars()) {
+					for (Char ch : Actor.charsView()) {
 						if (ch instanceof Shopkeeper
 								&& Dungeon.level.distance(target.pos, ch.pos) <= 6
-								&& new Ballistica(target.pos, ch.pos, Ballistica.PROJECTILE).collisionPos == ch.pos) {
+								&& Ballistica.reaches( target.pos, ch.pos, Ballistica.PROJECTILE )) {
 							safeArea = true;
 						}
 					}
@@ -957,7 +957,7 @@ public class CursedWand {
 		@Override
 		public boolean effect(Item origin, Char user, Ballistica bolt, boolean positiveOnly) {
 
-			for (Char ch : Actor.chars()){
+			for (Char ch : Actor.charsView()){
 				Buff.affect(ch, Invulnerability.class, 10f);
 				Buff.affect(ch, Bless.class, Bless.DURATION);
 			}
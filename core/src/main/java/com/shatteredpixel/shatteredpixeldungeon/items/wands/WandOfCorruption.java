@@ -164,7 +164,7 @@ public class WandOfCorruption extends Wand {
 			enemyResist *= 1 + 4*Math.pow(enemy.HP/(float)enemy.HT, 2);
 			
 			//debuffs placed on the enemy reduce their resistance
-			for (Buff buff : enemy.buffs()){
+			for (Buff buff : enemy.buffsView()){
 				if (MAJOR_DEBUFFS.containsKey(buff.getClass()))         enemyResist *= (1f-MAJOR_DEBUFF_WEAKEN);
 				else if (MINOR_DEBUFFS.containsKey(buff.getClass()))    enemyResist *= (1f-MINOR_DEBUFF_WEAKEN);
 				else if (buff.type == Buff.buffType.NEGATIVE)           enemyResist *= (1f-MINOR_DEBUFF_WEAKEN);
@@ -198,7 +198,7 @@ public class WandOfCorruption extends Wand {
 		
 		//do not consider buffs which are already assigned, or that the enemy is immune to.
 		HashMap<Class<? extends Buff>, Float> debuffs = new HashMap<>(category);
-		for (Buff existing : enemy.buffs()){
+		for (Buff existing : enemy.buffsView()){
 			if (debuffs.containsKey(existing.getClass())) {
 				debuffs.put(existing.getClass(), 0f);
 			}
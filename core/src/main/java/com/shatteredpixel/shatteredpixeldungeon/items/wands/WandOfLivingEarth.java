@@ -386,7 +386,7 @@ public class WandOfLivingEarth extends DamageWand {
 		public String description() {
 			String desc = Messages.get(this, "desc");
 
-			if (Actor.chars().contains(this)) {
+			if (Actor.containsChar(this)) {
 				if (Dungeon.isChallenged(Challenges.NO_ARMOR)) {
 					desc += "\n\n" + Messages.get(this, "wand_info", wandLevel, 2 + wandLevel);
 				} else {
@@ -490,7 +490,7 @@ public class WandOfRegrowth extends Wand {
 		@Override
 		public String description() {
 			String desc = Messages.get(this, "desc");
-			if (Actor.chars().contains(this)) {
+			if (Actor.containsChar(this)) {
 				int preservation = Math.round(seedPreservation()*100);
 				desc += "\n\n" + Messages.get(this, "wand_info", wandLvl, preservation, preservation);
 			}
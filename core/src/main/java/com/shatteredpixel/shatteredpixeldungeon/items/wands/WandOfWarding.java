@@ -72,14 +72,14 @@ public class WandOfWarding extends Wand {
 	public boolean tryToZap(Hero owner, int target) {
 		
 		int currentWardEnergy = 0;
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch instanceof Ward){
 				currentWardEnergy += ((Ward) ch).tier;
 			}
 		}
 		
 		int maxWardEnergy = 0;
-		for (Buff buff : curUser.buffs()){
+		for (Buff buff : curUser.buffsView()){
 			if (buff instanceof Wand.Charger){
 				if (((Charger) buff).wand() instanceof WandOfWarding){
 					maxWardEnergy += 2 + ((Charger) buff).wand().level();
@@ -176,7 +176,7 @@ public class WandOfWarding extends Wand {
 
 			float powerMulti = Math.max(1f, procChance);
 
-			for (Char ch : Actor.chars()){
+			for (Char ch : Actor.charsView()){
 				if (ch instanceof Ward){
 					((Ward) ch).wandHeal(staff.buffedLvl(), powerMulti);
 					ch.sprite.emitter().burst(MagicMissile.WardParticle.UP, ((Ward) ch).tier);
@@ -262,7 +262,7 @@ public class WandOfWarding extends Wand {
 					break;
 			}
 
-			if (Actor.chars().contains(this) && tier >= 3){
+			if (Actor.containsChar(this) && tier >= 3){
 				Bestiary.setSeen(WardSentry.class);
 			}
 
@@ -330,7 +330,7 @@ public class WandOfWarding extends Wand {
 
 		@Override
 		protected boolean canAttack( Char enemy ) {
-			return new Ballistica( pos, enemy.pos, Ballistica.MAGIC_BOLT).collisionPos == enemy.pos;
+			return Ballistica.reaches( pos, enemy.pos, Ballistica.MAGIC_BOLT );
 		}
 
 		@Override
@@ -449,7 +449,7 @@ public class WandOfWarding extends Wand {
 
 		@Override
 		public String description() {
-			if (!Actor.chars().contains(this)){
+			if (!Actor.containsChar(this)){
 				//for viewing in the journal
 				if (tier < 4){
 					return Messages.get(this, "desc_generic_ward");
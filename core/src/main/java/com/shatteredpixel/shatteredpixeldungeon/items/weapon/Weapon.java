@@ -199,6 +199,32 @@ abstract public class Weapon extends KindOfWeapon implements EquipableItem.Tiera
 
 		augment = bundle.getEnum(AUGMENT, Augment.class);
 	}
+
+	@Override
+	protected void copyFields( Item copy ) {
+		super.copyFields( copy );
+		Weapon weapon = (Weapon)copy;
+		weapon.usesLeftToID = usesLeftToID;
+		weapon.availableUsesToID = availableUsesToID;
+		weapon.enchantment = copyOf( enchantment );
+		weapon.enchantHardened = enchantHardened;
+		weapon.curseInfusionBonus = curseInfusionBonus;
+		weapon.masteryPotionBonus = masteryPotionBonus;
+		weapon.augment = augment;
+	}
+
+	//enchantments are stateless apart from a few curses, which are still copied through a bundle
+	private static Enchantment copyOf( Enchantment enchantment ){
+		if (enchantment == null){
+			return null;
+		} else if (Reflection.declaresMethod( enchantment.getClass(), "storeInBundle", Bundle.class )){
+			Bundle copy = new Bundle();
+			copy.put( ENCHANTMENT, enchantment );
+			return (Enchantment)copy.get( ENCHANTMENT );
+		} else {
+			return Reflection.newInstance( enchantment.getClass() );
+		}
+	}
 	
 	@Override
 	public void reset() {
@@ -45,7 +45,7 @@ public class Dazzling extends Weapon.Enchantment {
 
 		float procChance = 1/10f * procChanceMultiplier(attacker);
 		if (Random.Float() < procChance) {
-			for (Char ch : Actor.chars()){
+			for (Char ch : Actor.charsView()){
 				if (ch.fieldOfView != null && ch.fieldOfView[defender.pos]){
 					Buff.prolong(ch, Blindness.class, ch == attacker ? Blindness.DURATION : Blindness.DURATION/2f);
 					if (ch == Dungeon.hero){
@@ -86,7 +86,7 @@ public class Whip extends MeleeWeapon {
 
 		hero.belongings.abilityWeapon = this;
 		Buff.affect(hero, WhipReachBooster.class);
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch.alignment == Char.Alignment.ENEMY
 					&& !hero.isCharmedBy(ch)
 					&& Dungeon.level.heroFOV[ch.pos]
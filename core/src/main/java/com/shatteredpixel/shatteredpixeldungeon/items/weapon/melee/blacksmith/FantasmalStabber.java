@@ -61,7 +61,7 @@ public class FantasmalStabber extends BlacksmithWeapon implements PreparationAll
         long dmg = super.proc(attacker, defender, damage);
         dmg += defender.drRoll();
         if (attacker instanceof Hero){
-            for (Buff b : attacker.buffs()) {
+            for (Buff b : attacker.buffsView()) {
                 if (b instanceof Artifact.ArtifactBuff) {
                     if (!((Artifact.ArtifactBuff) b).isCursed()) {
                         ((Artifact.ArtifactBuff) b).charge((Hero) attacker, 0.3f);
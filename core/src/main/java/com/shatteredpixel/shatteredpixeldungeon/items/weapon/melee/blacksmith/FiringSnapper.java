@@ -63,7 +63,7 @@ public class FiringSnapper extends BlacksmithWeapon {
 
     @Override
     public boolean canReach(Char owner, int target) {
-        return new Ballistica(owner.pos, target, Ballistica.STOP_TARGET | Ballistica.STOP_SOLID).collisionPos == target;
+        return Ballistica.reaches( owner.pos, target, Ballistica.STOP_TARGET | Ballistica.STOP_SOLID );
     }
 
     @Override
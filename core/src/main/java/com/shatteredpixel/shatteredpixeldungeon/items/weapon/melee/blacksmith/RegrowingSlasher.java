@@ -61,7 +61,7 @@ public class RegrowingSlasher extends BlacksmithWeapon {
     public long proc(Char attacker, Char defender, long damage) {
         long heal = Math.max(1, attacker.HT / 150);
         ArrayList<Char> affected = new ArrayList<>();
-        for (Char ch: Actor.chars()){
+        for (Char ch: Actor.charsView()){
             if (ch.alignment == attacker.alignment){
                 affected.add(ch);
             }
@@ -110,7 +110,7 @@ public class RegrowingSlasher extends BlacksmithWeapon {
         beforeAbilityUsed(hero, null);
         hero.sprite.operate(hero.pos, () -> {
             ArrayList<Char> affected = new ArrayList<>();
-            for (Char ch: Actor.chars()){
+            for (Char ch: Actor.charsView()){
                 if (ch.alignment == hero.alignment && ch != hero){
                     affected.add(ch);
                 }
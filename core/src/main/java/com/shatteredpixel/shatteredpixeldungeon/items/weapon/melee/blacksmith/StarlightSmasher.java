@@ -119,7 +119,7 @@ public class StarlightSmasher extends BlacksmithWeapon {
             final float delay = castDelay(user, dst);
             final Item item = this;
 
-            if (enemy != null && new Ballistica( user.pos, enemy.pos, Ballistica.PROJECTILE ).collisionPos == enemy.pos) {
+            if (enemy != null && Ballistica.reaches( user.pos, enemy.pos, Ballistica.PROJECTILE )) {
                 check = 0;
                 for (int i: PathFinder.NEIGHBOURS9){
                     user.sprite.parent.add(new TargetedCell(enemy.pos + i, 0x66B3FF));
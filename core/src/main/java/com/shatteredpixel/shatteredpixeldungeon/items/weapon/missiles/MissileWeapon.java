@@ -525,6 +525,13 @@ abstract public class MissileWeapon extends Weapon {
 		durability = bundle.getFloat(DURABILITY);
 	}
 
+	@Override
+	protected void copyFields(Item copy) {
+		super.copyFields(copy);
+		((MissileWeapon)copy).durability = durability;
+		((MissileWeapon)copy).tier = tier;
+	}
+
 	public static class PlaceHolder extends MissileWeapon {
 
 		{
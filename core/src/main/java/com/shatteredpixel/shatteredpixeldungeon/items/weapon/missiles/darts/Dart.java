@@ -187,7 +187,7 @@ public class Dart extends MissileWeapon {
 			PathFinder.buildDistanceMap(chargedShotPos, Dungeon.level.passable, 3);
 			//necessary to clone as some on-hit effects use Pathfinder
 			int[] distance = PathFinder.distance.clone();
-			for (Char ch : Actor.chars()){
+			for (Char ch : Actor.charsView()){
 				if (ch == target){
 					Actor.add(new Actor() {
 						{ actPriority = VFX_PRIO; }
@@ -165,7 +165,7 @@ if (Dungeon.hero != null) {
 			//checks both destination and source position
 			float lotusPreserve = 0f;
 			if (targetPos != -1) {
-				for (Char ch : Actor.chars()) {
+				for (Char ch : Actor.charsView()) {
 					if (ch instanceof WandOfRegrowth.Lotus) {
 						WandOfRegrowth.Lotus l = (WandOfRegrowth.Lotus) ch;
 						if (l.inRange(targetPos)) {
@@ -176,7 +176,7 @@ if (Dungeon.hero != null) {
 				targetPos = -1;
 			}
 			int p = curUser == null ? Dungeon.hero.pos : curUser.pos;
-			for (Char ch : Actor.chars()) {
+			for (Char ch : Actor.charsView()) {
 				if (ch instanceof WandOfRegrowth.Lotus) {
 					WandOfRegrowth.Lotus l = (WandOfRegrowth.Lotus) ch;
 					if (l.inRange(p)) {
@@ -157,6 +157,7 @@ import com.shatteredpixel.shatteredpixeldungeon.plants.Swiftthistle;
 import com.watabou.utils.Bundle;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -178,6 +179,39 @@ public enum Bestiary {
 	private final LinkedHashMap<Class<?>, Boolean> seen = new LinkedHashMap<>();
 	//tracks enemy kills, trap activations, plant tramples, or just sets to 1 for seen on allies
 	private final LinkedHashMap<Class<?>, Long> encounterCount = new LinkedHashMap<>();
+	//how many of this bestiary's entries are seen, kept up to date as they change
+	private int seenCount = 0;
+
+	private void setSeenState( Class<?> cls, boolean value ){
+		Boolean old = seen.put(cls, value);
+		if (old != null && old != value){
+			seenCount += value ? 1 : -1;
+		}
+	}
+
+	//the bestiarys each class belongs to, in order, so lookups don't need to check every bestiary
+	private static HashMap<Class<?>, Bestiary[]> classIndex;
+
+	private static Bestiary[] of( Class<?> cls ){
+		if (classIndex == null){
+			HashMap<Class<?>, Bestiary[]> index = new HashMap<>();
+			for (Bestiary cat : values()){
+				for (Class<?> entry : cat.entities()){
+					Bestiary[] cats = index.get(entry);
+					if (cats == null){
+						cats = new Bestiary[]{cat};
+					} else {
+						cats = Arrays.copyOf(cats, cats.length+1);
+						cats[cats.length-1] = cat;
+					}
+					index.put(entry, cats);
+				}
+			}
+			classIndex = index;
+		}
+		Bestiary[] result = classIndex.get(cls);
+		return result != null ? result : new Bestiary[0];
+	}
 
 	//should only be used when initializing
 	private void addEntities(Class<?>... classes ){
@@ -200,11 +234,7 @@ public enum Bestiary {
 	}
 
 	public int totalSeen(){
-		int seenTotal = 0;
-		for (boolean entitySeen : seen.values()){
-			if (entitySeen) seenTotal++;
-		}
-		return seenTotal;
+		return seenCount;
 	}
 
 	static {
@@ -278,21 +308,17 @@ public enum Bestiary {
 	}
 
 	public static boolean isSeen(Class<?> cls){
-		for (Bestiary cat : values()) {
-			if (cat.seen.containsKey(cls)) {
-				return cat.seen.get(cls);
-			}
-		}
-		return false;
+		Bestiary[] cats = of(cls);
+		return cats.length > 0 && cats[0].seen.get(cls);
 	}
 
 	public static void setSeen(Class<?> cls){
 		if (classConversions.containsKey(cls)){
 			cls = classConversions.get(cls);
 		}
-		for (Bestiary cat : values()) {
-			if (cat.seen.containsKey(cls) && !cat.seen.get(cls)) {
-				cat.seen.put(cls, true);
+		for (Bestiary cat : of(cls)) {
+			if (!cat.seen.get(cls)) {
+				cat.setSeenState(cls, true);
 				Journal.saveNeeded = true;
 			}
 		}
@@ -300,12 +326,8 @@ public enum Bestiary {
 	}
 
 	public static long encounterCount(Class<?> cls) {
-		for (Bestiary cat : values()) {
-			if (cat.encounterCount.containsKey(cls)) {
-				return cat.encounterCount.get(cls);
-			}
-		}
-		return 0;
+		Bestiary[] cats = of(cls);
+		return cats.length > 0 ? cats[0].encounterCount.get(cls) : 0;
 	}
 
 	//used primarily when bosses are killed and need to clean up their minions
@@ -322,12 +344,14 @@ public enum Bestiary {
 		if (classConversions.containsKey(cls)){
 			cls = classConversions.get(cls);
 		}
-		for (Bestiary cat : values()) {
-			if (cat.encounterCount.containsKey(cls) && cat.encounterCount.get(cls) != Integer.MAX_VALUE){
-				cat.encounterCount.put(cls, cat.encounterCount.get(cls)+encounters);
-				if (cat.encounterCount.get(cls) < -1_000_000_000){ //to catch cases of overflow
-					cat.encounterCount.put(cls, 2_000_000_000_000L);
+		for (Bestiary cat : of(cls)) {
+			long count = cat.encounterCount.get(cls);
+			if (count != Integer.MAX_VALUE){
+				count += encounters;
+				if (count < -1_000_000_000){ //to catch cases of overflow
+					count = 2_000_000_000_000L;
 				}
+				cat.encounterCount.put(cls, count);
 				Journal.saveNeeded = true;
 			}
 		}
@@ -379,11 +403,9 @@ public enum Bestiary {
 			long[] encounters = bundle.getLongArray(BESTIARY_ENCOUNTERS);
 
 			for (int i = 0; i < classes.length; i++){
-				for (Bestiary cat : values()){
-					if (cat.seen.containsKey(classes[i])){
-						cat.seen.put(classes[i], seen[i]);
-						cat.encounterCount.put(classes[i], encounters[i]);
-					}
+				for (Bestiary cat : of(classes[i])){
+					cat.setSeenState(classes[i], seen[i]);
+					cat.encounterCount.put(classes[i], encounters[i]);
 				}
 			}
 		}
@@ -159,6 +159,7 @@ import com.watabou.utils.Bundle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 
 //For items, but includes a few item-like effects, such as enchantments
@@ -196,6 +197,39 @@ public enum Catalog {
 	private final LinkedHashMap<Class<?>, Boolean> seen = new LinkedHashMap<>();
 	//tracks upgrades spent for equipment, uses for consumables
 	private final LinkedHashMap<Class<?>, Long> useCount = new LinkedHashMap<>();
+	//how many of this catalog's entries are seen, kept up to date as they change
+	private int seenCount = 0;
+
+	private void setSeenState( Class<?> cls, boolean value ){
+		Boolean old = seen.put(cls, value);
+		if (old != null && old != value){
+			seenCount += value ? 1 : -1;
+		}
+	}
+
+	//the catalogs each class belongs to, in order, so lookups don't need to check every catalog
+	private static HashMap<Class<?>, Catalog[]> classIndex;
+
+	private static Catalog[] of( Class<?> cls ){
+		if (classIndex == null){
+			HashMap<Class<?>, Catalog[]> index = new HashMap<>();
+			for (Catalog cat : values()){
+				for (Class<?> entry : cat.items()){
+					Catalog[] cats = index.get(entry);
+					if (cats == null){
+						cats = new Catalog[]{cat};
+					} else {
+						cats = Arrays.copyOf(cats, cats.length+1);
+						cats[cats.length-1] = cat;
+					}
+					index.put(entry, cats);
+				}
+			}
+			classIndex = index;
+		}
+		Catalog[] result = classIndex.get(cls);
+		return result != null ? result : new Catalog[0];
+	}
 	
 	public Collection<Class<?>> items(){
 		return seen.keySet();
@@ -218,11 +252,7 @@ public enum Catalog {
 	}
 
 	public int totalSeen(){
-		int seenTotal = 0;
-		for (boolean itemSeen : seen.values()){
-			if (itemSeen) seenTotal++;
-		}
-		return seenTotal;
+		return seenCount;
 	}
 
 	static {
@@ -364,31 +394,35 @@ public enum Catalog {
 	}
 
 	public static boolean isSeen(Class<?> cls){
-		for (Catalog cat : values()) {
-			if (cat.seen.containsKey(cls)) {
-				return cat.seen.get(cls);
-			}
-		}
-		return false;
+		Catalog[] cats = of(cls);
+		return cats.length > 0 && cats[0].seen.get(cls);
 	}
 	
 	public static void setSeen(Class<?> cls){
-		for (Catalog cat : values()) {
-			if (cat.seen.containsKey(cls) && !cat.seen.get(cls)) {
-				cat.seen.put(cls, true);
-				Journal.saveNeeded = true;
-			}
+		markSeen(cls);
+		Badges.validateCatalogBadges();
+	}
+
+	//marks several classes at once, only checking catalog badges once at the end
+	public static void setSeen(Collection<Class<?>> classes){
+		for (Class<?> cls : classes){
+			markSeen(cls);
 		}
 		Badges.validateCatalogBadges();
 	}
 
-	public static long useCount(Class<?> cls){
-		for (Catalog cat : values()) {
-			if (cat.useCount.containsKey(cls)) {
-				return cat.useCount.get(cls);
+	private static void markSeen(Class<?> cls){
+		for (Catalog cat : of(cls)) {
+			if (!cat.seen.get(cls)) {
+				cat.setSeenState(cls, true);
+				Journal.saveNeeded = true;
 			}
 		}
-		return 0;
+	}
+
+	public static long useCount(Class<?> cls){
+		Catalog[] cats = of(cls);
+		return cats.length > 0 ? cats[0].useCount.get(cls) : 0;
 	}
 
 	public static void countUse(Class<?> cls){
@@ -396,12 +430,14 @@ public enum Catalog {
 	}
 
 	public static void countUses(Class<?> cls, long uses){
-		for (Catalog cat : values()) {
-			if (cat.useCount.containsKey(cls) && cat.useCount.get(cls) != Long.MAX_VALUE) {
-				cat.useCount.put(cls, cat.useCount.get(cls)+uses);
-				if (cat.useCount.get(cls) < -1_000_000_000){ //to catch cases of overflow
-					cat.useCount.put(cls, Long.MAX_VALUE);
+		for (Catalog cat : of(cls)) {
+			long count = cat.useCount.get(cls);
+			if (count != Long.MAX_VALUE) {
+				count += uses;
+				if (count < -1_000_000_000){ //to catch cases of overflow
+					count = Long.MAX_VALUE;
 				}
+				cat.useCount.put(cls, count);
 				Journal.saveNeeded = true;
 			}
 		}
@@ -453,16 +489,14 @@ public enum Catalog {
 		for (Catalog cat : values()){
 			if (Badges.isUnlocked(catalogBadges.get(cat))){
 				for (Class<?> item : cat.items()){
-					cat.seen.put(item, true);
+					cat.setSeenState(item, true);
 				}
 			}
 		}
 		if (bundle.contains(CATALOG_ITEMS)) {
 			for (Class<?> cls : Arrays.asList(bundle.getClassArray(CATALOG_ITEMS))){
-				for (Catalog cat : values()) {
-					if (cat.seen.containsKey(cls)) {
-						cat.seen.put(cls, true);
-					}
+				for (Catalog cat : of(cls)) {
+					cat.setSeenState(cls, true);
 				}
 			}
 		}
@@ -474,11 +508,9 @@ public enum Catalog {
 			long[] uses = bundle.getLongArray(CATALOG_USES);
 
 			for (int i = 0; i < classes.length; i++){
-				for (Catalog cat : values()) {
-					if (cat.seen.containsKey(classes[i])) {
-						cat.seen.put(classes[i], seen[i]);
-						cat.useCount.put(classes[i], uses[i]);
-					}
+				for (Catalog cat : of(classes[i])) {
+					cat.setSeenState(classes[i], seen[i]);
+					cat.useCount.put(classes[i], uses[i]);
 				}
 
 			}
@@ -828,7 +828,7 @@ public class BlackMimicLevel extends Level {
 			@Override
 			public void emit(Emitter emitter, int index, float x, float y) {
 				if (energySourceSprite == null){
-					for (Char c : Actor.chars()){
+					for (Char c : Actor.charsView()){
 						if (c instanceof Pylon && c.alignment != Char.Alignment.NEUTRAL){
 							energySourceSprite = c.sprite;
 							break;
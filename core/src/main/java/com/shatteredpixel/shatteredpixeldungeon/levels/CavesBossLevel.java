@@ -868,7 +868,7 @@ public class CavesBossLevel extends Level {
 			@Override
 			public void emit(Emitter emitter, int index, float x, float y) {
 				if (energySourceSprite == null){
-					for (Char c : Actor.chars()){
+					for (Char c : Actor.charsView()){
 						if (c instanceof Pylon && c.alignment != Char.Alignment.NEUTRAL){
 							energySourceSprite = c.sprite;
 							break;
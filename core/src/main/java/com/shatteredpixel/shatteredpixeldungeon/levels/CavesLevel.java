@@ -109,7 +109,7 @@ public class CavesLevel extends RegularLevel {
 				&& (!Blacksmith.Quest.given() || Blacksmith.Quest.oldQuestMineBlocked() || Blacksmith.Quest.completed() || !Blacksmith.Quest.started())) {
 
 			Blacksmith smith = null;
-			for (Char c : Actor.chars()){
+			for (Char c : Actor.charsView()){
 				if (c instanceof Blacksmith){
 					smith = (Blacksmith) c;
 					break;
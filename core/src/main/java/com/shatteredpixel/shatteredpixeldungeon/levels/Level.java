@@ -171,6 +171,17 @@ public abstract class Level implements Bundlable {
 	public boolean[] pit;
 
 	public boolean[] openSpace;
+
+	//recent changes to losBlocking, as a ring of changed cells indexed by version.
+	//Cached fields of view only need recasting when a change happens near them
+	private static final int LOS_CHANGE_HISTORY = 64;
+	private int losBlockingVersion = 0;
+	private int losBlockingResetVersion = 0;
+	private int[] losBlockingChanges = new int[LOS_CHANGE_HISTORY];
+
+	//increases whenever passable, avoid or openSpace may have changed,
+	// so that pathfinding results based on them know when they are out of date
+	public int passableVersion = 0;
 	
 	public Feeling feeling = Feeling.NONE;
 	
@@ -204,6 +215,9 @@ public abstract class Level implements Bundlable {
 	private static final String MAP			= "map";
 	private static final String VISITED		= "visited";
 	private static final String MAPPED		= "mapped";
+	//visited and mapped are stored bit-packed, the old boolean array keys are still read
+	private static final String VISITED_BITS= "visited_bits";
+	private static final String MAPPED_BITS	= "mapped_bits";
 	private static final String TRANSITIONS	= "transitions";
 	private static final String LOCKED      = "locked";
 	private static final String HEAPS		= "heaps";
@@ -389,8 +403,13 @@ public abstract class Level implements Bundlable {
 		
 		map		= bundle.getIntArray( MAP );
 
-		visited	= bundle.getBooleanArray( VISITED );
-		mapped	= bundle.getBooleanArray( MAPPED );
+		if (bundle.contains( VISITED_BITS )) {
+			visited = BArray.unpack( bundle.getLongArray( VISITED_BITS ), map.length );
+			mapped  = BArray.unpack( bundle.getLongArray( MAPPED_BITS ), map.length );
+		} else {
+			visited = bundle.getBooleanArray( VISITED );
+			mapped  = bundle.getBooleanArray( MAPPED );
+		}
 
 		transitions = new ArrayList<>();
 		for (Bundlable b : bundle.getCollection( TRANSITIONS )){
@@ -468,8 +487,8 @@ if (bundle.contains( "respawner" )){
 		bundle.put( WIDTH, width );
 		bundle.put( HEIGHT, height );
 		bundle.put( MAP, map );
-		bundle.put( VISITED, visited );
-		bundle.put( MAPPED, mapped );
+		bundle.put( VISITED_BITS, BArray.pack( visited ) );
+		bundle.put( MAPPED_BITS, BArray.pack( mapped ) );
 		bundle.put( TRANSITIONS, transitions );
 		bundle.put( LOCKED, locked );
 		bundle.put( HEAPS, heaps.valueList() );
@@ -862,6 +881,9 @@ if (bundle.contains( "respawner" )){
 			losBlocking[i + width()-1] = solid[i + width()-1] = true;
 		}
 
+		losBlockingResetVersion = ++losBlockingVersion;
+		passableVersion++;
+
 		//an open space is large enough to fit large mobs. A space is open when it is not solid
 		// and there is an open corner with both adjacent cells opens
 		for (int i=0; i < length(); i++) {
@@ -928,8 +950,14 @@ if (bundle.contains( "respawner" )){
 		}
 
 		int flags = Terrain.flags[terrain];
+		boolean losBlocking = (flags & Terrain.LOS_BLOCKING) != 0;
+		if (level.losBlocking[cell] != losBlocking){
+			level.losBlockingVersion++;
+			level.losBlockingChanges[level.losBlockingVersion % LOS_CHANGE_HISTORY] = cell;
+		}
+		level.passableVersion++;
 		level.passable[cell]		= (flags & Terrain.PASSABLE) != 0;
-		level.losBlocking[cell]	    = (flags & Terrain.LOS_BLOCKING) != 0;
+		level.losBlocking[cell]	    = losBlocking;
 		level.flamable[cell]		= (flags & Terrain.FLAMABLE) != 0;
 		level.secret[cell]		    = (flags & Terrain.SECRET) != 0;
 		level.solid[cell]			= (flags & Terrain.SOLID) != 0;
@@ -1029,7 +1057,7 @@ if (bundle.contains( "respawner" )){
 		
 		GameScene.plantSeed( pos );
 
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch instanceof WandOfRegrowth.Lotus
 					&& ((WandOfRegrowth.Lotus) ch).inRange(pos)
 					&& Actor.findChar(pos) != null){
@@ -1264,6 +1292,23 @@ if (bundle.contains( "respawner" )){
 
 	private static boolean[] modifiableBlocking;
 
+	//whether losBlocking may have changed within a distance of a cell since the given version
+	private boolean losBlockingChangedNear( int sinceVersion, int x, int y, int distance ){
+		if (sinceVersion == losBlockingVersion){
+			return false;
+		}
+		if (sinceVersion < losBlockingResetVersion || losBlockingVersion - sinceVersion >= LOS_CHANGE_HISTORY){
+			return true;
+		}
+		for (int v = sinceVersion+1; v <= losBlockingVersion; v++){
+			int cell = losBlockingChanges[v % LOS_CHANGE_HISTORY];
+			if (Math.abs(cell % width() - x) <= distance && Math.abs(cell / width() - y) <= distance){
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public void updateFieldOfView( Char c, boolean[] fieldOfView ) {
 
 		int cx = c.pos % width();
@@ -1319,8 +1364,22 @@ if (bundle.contains( "respawner" )){
 				viewDist *= EyeOfNewt.visionRangeMultiplier();
 			}
 			
-			ShadowCaster.castShadow( cx, cy, width(), fieldOfView, blocking, Math.round(viewDist) );
+			int distance = Math.round(viewDist);
+
+			//most chars only see their own shadowcast, so it can be cached for them.
+			//This makes chars that aren't moving, like sleeping mobs or statues, essentially free
+			if (blocking == losBlocking && c != Dungeon.hero && !(c instanceof SpiritHawk.HawkAlly)){
+				if (c.fovCache.matches( cx, cy, fieldOfView, blocking, distance )
+						&& !losBlockingChangedNear( c.fovCache.version(), cx, cy, Math.min(distance, ShadowCaster.MAX_DISTANCE) )){
+					return;
+				}
+				ShadowCaster.castShadow( cx, cy, width(), fieldOfView, blocking, distance, c.fovCache, losBlockingVersion );
+			} else {
+				c.fovCache.invalidate();
+				ShadowCaster.castShadow( cx, cy, width(), fieldOfView, blocking, distance );
+			}
 		} else {
+			c.fovCache.invalidate();
 			BArray.setFalse(fieldOfView);
 		}
 		
@@ -1414,7 +1473,7 @@ if (bundle.contains( "respawner" )){
 			}
 			
 			if (c.buff( Awareness.class ) != null) {
-				for (Heap heap : heaps.valueList()) {
+				for (Heap heap : heaps.values()) {
 					int p = heap.pos;
 					for (int i : PathFinder.NEIGHBOURS9) heroMindFov[p+i] = true;
 				}
@@ -1463,7 +1522,7 @@ if (bundle.contains( "respawner" )){
 		}
 
 		if (c == Dungeon.hero) {
-			for (Heap heap : heaps.valueList())
+			for (Heap heap : heaps.values())
 				if (!heap.seen && fieldOfView[heap.pos])
 					heap.seen = true;
 		}
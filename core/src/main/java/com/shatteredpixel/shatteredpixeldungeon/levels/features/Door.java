@@ -48,7 +48,7 @@ public class Door {
 	public static void leave( int pos ) {
 		int chars = 0;
 		
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch.pos == pos) chars++;
 		}
 		
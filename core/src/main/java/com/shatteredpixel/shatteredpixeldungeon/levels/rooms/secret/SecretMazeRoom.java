@@ -81,18 +81,18 @@ public class SecretMazeRoom extends SecretRoom {
 			}
 		}
 		
-		PathFinder.setMapSize(width(), height());
+		PathFinder.Context pathFinder = new PathFinder.Context(width(), height());
 		Point entrance = entrance();
 		int entrancePos = (entrance.x - left) + width()*(entrance.y - top);
 		
-		PathFinder.buildDistanceMap( entrancePos, passable );
+		pathFinder.buildDistanceMap( entrancePos, passable );
 		
 		int bestDist = 0;
 		Point bestDistP = new Point();
-		for (int i = 0; i < PathFinder.distance.length; i++){
-			if (PathFinder.distance[i] != Integer.MAX_VALUE
-					&& PathFinder.distance[i] > bestDist){
-				bestDist = PathFinder.distance[i];
+		for (int i = 0; i < pathFinder.distance.length; i++){
+			if (pathFinder.distance[i] != Integer.MAX_VALUE
+					&& pathFinder.distance[i] > bestDist){
+				bestDist = pathFinder.distance[i];
 				bestDistP.x = (i % width()) + left;
 				bestDistP.y = (i / width()) + top;
 			}
@@ -122,8 +122,6 @@ public class SecretMazeRoom extends SecretRoom {
 		
 		level.drop(prize, level.pointToCell(bestDistP)).type = Heap.Type.CHEST;
 		
-		PathFinder.setMapSize(level.width(), level.height());
-		
 		entrance().set(Door.Type.HIDDEN);
 	}
 }
@@ -200,6 +200,7 @@ public class MagicalFireRoom extends SpecialRoom {
 							}
 						}
 						l.passable[cell] = cur[cell] == 0 && (Terrain.flags[l.map[cell]] & Terrain.PASSABLE) != 0;
+						l.passableVersion++;
 					}
 
 					if (cur[cell] > 0
@@ -243,6 +244,7 @@ public class MagicalFireRoom extends SpecialRoom {
 		public void seed(Level level, int cell, int amount) {
 			super.seed(level, cell, amount);
 			level.passable[cell] = cur[cell] == 0 && (Terrain.flags[level.map[cell]] & Terrain.PASSABLE) != 0;
+			level.passableVersion++;
 		}
 
 		@Override
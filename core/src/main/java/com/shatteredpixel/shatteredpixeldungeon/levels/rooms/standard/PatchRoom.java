@@ -45,7 +45,8 @@ public abstract class PatchRoom extends StandardRoom {
 		int attempts = 0;
 		if (ensurePath()){
 			float fill = fill();
-			PathFinder.setMapSize(width()-2, height()-2);
+			//uses its own pathfinder context so the level's map size is left alone
+			PathFinder.Context pathFinder = new PathFinder.Context(width()-2, height()-2);
 			boolean valid;
 			do {
 				patch = Patch.generate(width()-2, height()-2, fill, clustering(), true);
@@ -70,11 +71,11 @@ public abstract class PatchRoom extends StandardRoom {
 					}
 				}
 				
-				PathFinder.buildDistanceMap(startPoint, BArray.not(patch, null));
+				pathFinder.buildDistanceMap(startPoint, BArray.not(patch, null));
 				
 				valid = true;
 				for (int i = 0; i < patch.length; i++){
-					if (!patch[i] && PathFinder.distance[i] == Integer.MAX_VALUE){
+					if (!patch[i] && pathFinder.distance[i] == Integer.MAX_VALUE){
 						valid = false;
 						break;
 					}
@@ -85,7 +86,6 @@ public abstract class PatchRoom extends StandardRoom {
 					attempts = 0;
 				}
 			} while (!valid);
-			PathFinder.setMapSize(level.width(), level.height());
 		} else {
 			patch = Patch.generate(width()-2, height()-2, fill(), clustering(), true);
 		}
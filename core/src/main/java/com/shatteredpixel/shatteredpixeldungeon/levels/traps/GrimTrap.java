@@ -70,7 +70,7 @@ public class GrimTrap extends Trap {
 				int range = Math.max(6, Dungeon.level.viewDistance);
 				if (target == null){
 					float closestDist = Float.MAX_VALUE;
-					for (Char ch : Actor.chars()){
+					for (Char ch : Actor.charsView()){
 						if (!ch.isAlive()) continue;
 						float curDist = Dungeon.level.trueDistance(pos, ch.pos);
 						//invis targets are considered to be at max range
@@ -28,18 +28,23 @@ import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
 import com.shatteredpixel.shatteredpixeldungeon.ShatteredPixelDungeon;
 import com.shatteredpixel.shatteredpixeldungeon.actors.Actor;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Ballistica {
 
 	//note that the path is the FULL path of the projectile, including tiles after collision.
 	//make sure to generate a subPath for the common case of going source to collision.
-	public ArrayList<Integer> path = new ArrayList<>();
-	public Integer sourcePos = null;
-	public Integer collisionPos = null;
-	public Integer collisionProperties = null;
-	public Integer dist = 0;
+	//the path's cells are stored in pathCells, path is a read-only list view of them
+	public int[] pathCells = new int[16];
+	public int pathLength = 0;
+	public final List<Integer> path = new PathView();
+	public int sourcePos;
+	public int collisionPos;
+	public int collisionProperties;
+	public int dist = 0;
 
 	//parameters to specify the colliding cell
 	public static final int STOP_TARGET = 1;    //ballistica will stop at the target cell
@@ -55,25 +60,47 @@ public class Ballistica {
 
 
 	public Ballistica( int from, int to, int params ){
+		cast( from, to, params );
+	}
+
+	private Ballistica(){
+	}
+
+	//recomputes this ballistica in place, reusing its path buffer
+	private void cast( int from, int to, int params ){
 		sourcePos = from;
 		collisionProperties = params;
+		pathLength = 0;
+		collisionPos = -1;
 		build(from, to,
 				(params & STOP_TARGET) > 0,
 				(params & STOP_CHARS) > 0,
 				(params & STOP_SOLID) > 0,
 				(params & IGNORE_SOFT_SOLID) > 0);
 
-		if (collisionPos != null) {
-			dist = path.indexOf(collisionPos);
-		} else if (!path.isEmpty()) {
-			collisionPos = path.get(dist = path.size() - 1);
+		if (collisionPos != -1) {
+			dist = indexOf(collisionPos);
+		} else if (pathLength > 0) {
+			collisionPos = pathCells[dist = pathLength - 1];
 		} else {
-			path.add(from);
+			add(from);
 			collisionPos = from;
 			dist = 0;
 		}
 	}
 
+	private static final Ballistica reusable = new Ballistica();
+
+	//whether a ballistica from one cell to another would collide at the target cell.
+	//This is the same as new Ballistica(from, to, params).collisionPos == to, but doesn't allocate,
+	// which helps frequent checks such as ranged AI deciding whether it can attack.
+	public static boolean reaches( int from, int to, int params ){
+		synchronized (reusable) {
+			reusable.cast( from, to, params );
+			return reusable.collisionPos == to;
+		}
+	}
+
 	private void build( int from, int to, boolean stopTarget, boolean stopChars, boolean stopTerrain, boolean ignoreSoftSolid ) {
 		int w = Dungeon.level.width();
 
@@ -119,28 +146,28 @@ public class Ballistica {
 
 			//if we're in solid terrain, and there's no char there, collide with the previous cell.
 			// we don't use solid here because we don't want to stop short of closed doors.
-			if (collisionPos == null
+			if (collisionPos == -1
 					&& stopTerrain
 					&& cell != sourcePos
 					&& !Dungeon.level.passable[cell]
 					&& !Dungeon.level.avoid[cell]
 					&& Actor.findChar(cell) == null) {
-				collide(path.get(path.size() - 1));
+				collide(pathCells[pathLength - 1]);
 			}
 
-			path.add(cell);
+			add(cell);
 
-			if (collisionPos == null && stopTerrain && cell != sourcePos && Dungeon.level.solid[cell]) {
+			if (collisionPos == -1 && stopTerrain && cell != sourcePos && Dungeon.level.solid[cell]) {
 				if (ignoreSoftSolid && (Dungeon.level.passable[cell] || Dungeon.level.avoid[cell])) {
 					//do nothing
 				} else {
 					collide(cell);
 				}
 			}
-			if (collisionPos == null && cell != sourcePos && stopChars && Actor.findChar( cell ) != null) {
+			if (collisionPos == -1 && cell != sourcePos && stopChars && Actor.findChar( cell ) != null) {
 				collide(cell);
 			}
-			if (collisionPos == null && cell == to && stopTarget){
+			if (collisionPos == -1 && cell == to && stopTarget){
 				collide(cell);
 			}
 
@@ -156,20 +183,61 @@ public class Ballistica {
 
 	//we only want to record the first position collision occurs at.
 	private void collide(int cell){
-		if (collisionPos == null) {
+		if (collisionPos == -1) {
 			collisionPos = cell;
 		}
 	}
 
+	private void add( int cell ){
+		if (pathLength == pathCells.length){
+			pathCells = Arrays.copyOf(pathCells, pathLength * 2);
+		}
+		pathCells[pathLength++] = cell;
+	}
+
+	//returns the index of a cell in the path, or -1 if it isn't in the path
+	public int indexOf( int cell ){
+		for (int i = 0; i < pathLength; i++){
+			if (pathCells[i] == cell) return i;
+		}
+		return -1;
+	}
+
 	//returns a segment of the path from start to end, inclusive.
 	//if there is an error, returns an empty arraylist instead.
 	public List<Integer> subPath(int start, int end){
 		try {
-			end = Math.min( end, path.size()-1);
+			end = Math.min( end, pathLength-1);
 			return path.subList(start, end+1);
 		} catch (Exception e){
 			ShatteredPixelDungeon.reportException(e);
 			return new ArrayList<>();
 		}
 	}
+
+	private class PathView extends AbstractList<Integer> {
+
+		@Override
+		public Integer get( int index ) {
+			if (index < 0 || index >= pathLength){
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + pathLength);
+			}
+			return pathCells[index];
+		}
+
+		@Override
+		public int size() {
+			return pathLength;
+		}
+
+		@Override
+		public int indexOf( Object o ) {
+			return o instanceof Integer ? Ballistica.this.indexOf( (Integer)o ) : -1;
+		}
+
+		@Override
+		public boolean contains( Object o ) {
+			return indexOf( o ) != -1;
+		}
+	}
 }
@@ -23,12 +23,12 @@ package com.shatteredpixel.shatteredpixeldungeon.mechanics;
 
 import com.shatteredpixel.shatteredpixeldungeon.Dungeon;
 import com.watabou.utils.GameMath;
+import com.watabou.utils.IntSet;
 import com.watabou.utils.Point;
 import com.watabou.utils.PointF;
 
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.HashMap;
 
 //a cone made of up several ballisticas scanning in an arc
 public class ConeAOE {
@@ -37,7 +37,8 @@ public class ConeAOE {
 
 	public ArrayList<Ballistica> outerRays = new ArrayList<>();
 	public ArrayList<Ballistica> rays = new ArrayList<>();
-	public HashSet<Integer> cells = new HashSet<>();
+	//cells are in the order their rays were cast, i.e. clockwise
+	public IntSet cells = new IntSet();
 
 	public ConeAOE( Ballistica core, float degrees ){
 		this( core, Float.POSITIVE_INFINITY, degrees, core.collisionProperties );
@@ -47,15 +48,110 @@ public class ConeAOE {
 
 		coreRay = core;
 
-		//we want to use true coordinates for our trig functions, not game cells
-		// so get the center of from and to as points
-		PointF fromP = new PointF(Dungeon.level.cellToPoint(core.sourcePos));
-		fromP.x += 0.5f;
-		fromP.y += 0.5f;
+		//the cells along the cone's arc only depend on where the target is relative to the source,
+		// so they come from a cached template of offsets, which is moved to the source here
+		Point from = Dungeon.level.cellToPoint(core.sourcePos);
+		Point to = Dungeon.level.cellToPoint(core.collisionPos);
+		ArcTemplate arc = arcTemplate(to.x - from.x, to.y - from.y, maxDist, degrees);
+
+		IntSet targetCells = new IntSet(arc.targets.length/2);
+		IntSet outerCells = new IntSet(arc.outer.length/2);
+		for (int i = 0; i < arc.targets.length; i += 2){
+			targetCells.add(arcCell(from, arc.targets, i));
+		}
+		for (int i = 0; i < arc.outer.length; i += 2){
+			outerCells.add(arcCell(from, arc.outer, i));
+		}
+
+		//cast a ray to each found cell, these make up the cone
+		//we don't add the core ray as its collision properties may differ from the cone
+		for( int i = 0; i < targetCells.size(); i++ ){
+			int c = targetCells.get(i);
+			Ballistica ray = new Ballistica(core.sourcePos, c, ballisticaParams);
+			for (int j = 1; j <= ray.dist; j++){
+				cells.add(ray.pathCells[j]);
+			}
+			rays.add(ray);
+			if (outerCells.contains(c)){
+				outerRays.add(ray);
+			}
+		}
+
+		//lastly add any cells in the core
+		for ( int i = 1; i <= core.dist; i++){
+			int c = core.pathCells[i];
+			if (Dungeon.level.trueDistance(core.sourcePos, c) <= maxDist){
+				cells.add(c);
+			}
+		}
+
+	}
+
+	//offsets are clamped to the level after being moved, like the original cells would have been
+	private static int arcCell( Point from, int[] offsets, int i ){
+		return Dungeon.level.pointToCell(new Point(
+				(int)GameMath.gate(0, from.x + offsets[i], Dungeon.level.width()-1),
+				(int)GameMath.gate(0, from.y + offsets[i+1], Dungeon.level.height()-1)));
+	}
+
+	//cells along a cone's arc, as x,y offset pairs from the source
+	private static class ArcTemplate {
+		int[] targets;  //every cell to cast a ray to, in clockwise order
+		int[] outer;    //cells on the outer edge of the arc
+	}
+
+	private static class ArcKey {
+		final int dx, dy;
+		final float maxDist, degrees;
+
+		ArcKey( int dx, int dy, float maxDist, float degrees ){
+			this.dx = dx;
+			this.dy = dy;
+			this.maxDist = maxDist;
+			this.degrees = degrees;
+		}
+
+		@Override
+		public boolean equals( Object o ) {
+			if (!(o instanceof ArcKey)) return false;
+			ArcKey k = (ArcKey) o;
+			return dx == k.dx && dy == k.dy
+					&& Float.compare(maxDist, k.maxDist) == 0 && Float.compare(degrees, k.degrees) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = dx;
+			result = 31 * result + dy;
+			result = 31 * result + Float.floatToIntBits(maxDist);
+			result = 31 * result + Float.floatToIntBits(degrees);
+			return result;
+		}
+	}
+
+	//there are only so many distinct cones in practice, this just stops the cache growing forever
+	private static final int MAX_TEMPLATES = 1024;
+	private static final HashMap<ArcKey, ArcTemplate> arcTemplates = new HashMap<>();
 
-		PointF toP = new PointF(Dungeon.level.cellToPoint(core.collisionPos));
-		toP.x += 0.5f;
-		toP.y += 0.5f;
+	private static synchronized ArcTemplate arcTemplate( int dx, int dy, float maxDist, float degrees ){
+		ArcKey key = new ArcKey(dx, dy, maxDist, degrees);
+		ArcTemplate arc = arcTemplates.get(key);
+		if (arc == null){
+			if (arcTemplates.size() >= MAX_TEMPLATES){
+				arcTemplates.clear();
+			}
+			arc = buildArc(dx, dy, maxDist, degrees);
+			arcTemplates.put(key, arc);
+		}
+		return arc;
+	}
+
+	private static ArcTemplate buildArc( int dx, int dy, float maxDist, float degrees ){
+
+		//we want to use true coordinates for our trig functions, not game cells
+		// so get the center of from and to as points, with the source cell at 0,0
+		PointF fromP = new PointF(0.5f, 0.5f);
+		PointF toP = new PointF(dx + 0.5f, dy + 0.5f);
 
 		//clamp distance of cone to maxDist (in true distance, not game distance)
 		if (PointF.distance(fromP, toP) > maxDist){
@@ -69,11 +165,10 @@ public class ConeAOE {
 
 		//Now we find every unique cell along the outer arc of our cone.
 		PointF scan = new PointF();
-		Point scanInt = new Point();
 		float initalAngle = PointF.angle(fromP, toP)/PointF.G2R;
 		//want to preserve order so that our collection of rays is going clockwise
-		LinkedHashSet<Integer> targetCells = new LinkedHashSet<>();
-		LinkedHashSet<Integer> outerCells = new LinkedHashSet<>();
+		ArrayList<Point> targets = new ArrayList<>();
+		ArrayList<Point> outer = new ArrayList<>();
 
 		//cast a ray every 0.5 degrees in a clockwise arc, to find cells along the cone's outer arc
 		for (float a = initalAngle+degrees/2f; a >= initalAngle-degrees/2f; a-=0.5f){
@@ -81,11 +176,9 @@ public class ConeAOE {
 			scan.offset(fromP);
 			scan.x += (fromP.x > scan.x ? +0.5f : -0.5f);
 			scan.y += (fromP.y > scan.y ? +0.5f : -0.5f);
-			scanInt.set(
-					(int)GameMath.gate(0, (int)Math.floor(scan.x), Dungeon.level.width()-1),
-					(int)GameMath.gate(0, (int)Math.floor(scan.y), Dungeon.level.height()-1));
-			targetCells.add(Dungeon.level.pointToCell(scanInt));
-			outerCells.add(Dungeon.level.pointToCell(scanInt));
+			Point scanInt = new Point((int)Math.floor(scan.x), (int)Math.floor(scan.y));
+			if (!targets.contains(scanInt)) targets.add(scanInt);
+			if (!outer.contains(scanInt)) outer.add(scanInt);
 			//if the cone is large enough, also cast rays to cells just inside of the outer arc
 			// this helps fill in any holes when casting rays
 			if (circleRadius >= 4) {
@@ -93,32 +186,24 @@ public class ConeAOE {
 				scan.offset(fromP);
 				scan.x += (fromP.x > scan.x ? +0.5f : -0.5f);
 				scan.y += (fromP.y > scan.y ? +0.5f : -0.5f);
-				scanInt.set(
-						(int)GameMath.gate(0, (int)Math.floor(scan.x), Dungeon.level.width()-1),
-						(int)GameMath.gate(0, (int)Math.floor(scan.y), Dungeon.level.height()-1));
-				targetCells.add(Dungeon.level.pointToCell(scanInt));
+				scanInt = new Point((int)Math.floor(scan.x), (int)Math.floor(scan.y));
+				if (!targets.contains(scanInt)) targets.add(scanInt);
 			}
 		}
 
-		//cast a ray to each found cell, these make up the cone
-		//we don't add the core ray as its collision properties may differ from the cone
-		for( int c : targetCells ){
-			Ballistica ray = new Ballistica(core.sourcePos, c, ballisticaParams);
-			cells.addAll(ray.subPath(1, ray.dist));
-			rays.add(ray);
-			if (outerCells.contains(c)){
-				outerRays.add(ray);
-			}
-		}
+		ArcTemplate arc = new ArcTemplate();
+		arc.targets = toOffsets(targets);
+		arc.outer = toOffsets(outer);
+		return arc;
+	}
 
-		//lastly add any cells in the core
-		for ( int c : core.subPath(1, core.dist)){
-			if (Dungeon.level.trueDistance(core.sourcePos, c) <= maxDist){
-				cells.add(c);
-			}
+	private static int[] toOffsets( ArrayList<Point> points ){
+		int[] offsets = new int[points.size()*2];
+		for (int i = 0; i < points.size(); i++){
+			offsets[2*i] = points.get(i).x;
+			offsets[2*i+1] = points.get(i).y;
 		}
-
+		return offsets;
 	}
 
 }
-
@@ -27,6 +27,8 @@ package com.shatteredpixel.shatteredpixeldungeon.mechanics;
 import com.shatteredpixel.shatteredpixeldungeon.ShatteredPixelDungeon;
 import com.watabou.utils.BArray;
 
+import java.util.Arrays;
+
 //based on: http://www.roguebasin.com/index.php?title=FOV_using_recursive_shadowcasting
 public final class ShadowCaster {
 
@@ -50,11 +52,18 @@ public final class ShadowCaster {
 	
 	public static void castShadow( int x, int y, int w, boolean[] fieldOfView, boolean[] blocking, int distance ) {
 		
+		castShadow( x, y, w, fieldOfView, blocking, distance, true );
+	}
+
+	private static void castShadow( int x, int y, int w, boolean[] fieldOfView, boolean[] blocking, int distance, boolean clear ) {
+		
 		if (distance >= MAX_DISTANCE){
 			distance = MAX_DISTANCE;
 		}
 
-		BArray.setFalse(fieldOfView);
+		if (clear) {
+			BArray.setFalse(fieldOfView);
+		}
 
 		//set source cell to true
 		fieldOfView[y * w + x] = true;
@@ -76,6 +85,61 @@ public final class ShadowCaster {
 
 	}
 	
+	//casts shadow like above, but remembers the result in a cache so that the previous cast
+	//only needs clearing within its own bounds, instead of across the whole map.
+	//The blocking version is whatever the caller uses to track changes to the blocking map.
+	public static void castShadow( int x, int y, int w, boolean[] fieldOfView, boolean[] blocking, int distance,
+	                               Cache cache, int blockingVersion ) {
+
+		if (cache.fov != fieldOfView) {
+			castShadow( x, y, w, fieldOfView, blocking, distance );
+
+		} else {
+			//a cast only ever touches cells within its distance of the source cell, in array terms
+			int clearDist = Math.min( cache.distance, MAX_DISTANCE );
+			for (int row = cache.y - clearDist; row <= cache.y + clearDist; row++) {
+				int start = Math.max( 0, row * w + cache.x - clearDist );
+				int end = Math.min( fieldOfView.length, row * w + cache.x + clearDist + 1 );
+				if (start < end) {
+					Arrays.fill( fieldOfView, start, end, false );
+				}
+			}
+
+			castShadow( x, y, w, fieldOfView, blocking, distance, false );
+		}
+
+		cache.fov = fieldOfView;
+		cache.blocking = blocking;
+		cache.x = x;
+		cache.y = y;
+		cache.distance = distance;
+		cache.version = blockingVersion;
+	}
+
+	public static class Cache {
+
+		private boolean[] fov;
+		private boolean[] blocking;
+		private int x, y, distance;
+		private int version;
+
+		//whether the last cast was made with the exact same parameters
+		public boolean matches( int x, int y, boolean[] fov, boolean[] blocking, int distance ){
+			return this.fov == fov && this.blocking == blocking
+					&& this.x == x && this.y == y && this.distance == distance;
+		}
+
+		public int version(){
+			return version;
+		}
+
+		//must be called if the field of view array is written to outside of a cached cast
+		public void invalidate(){
+			fov = null;
+			blocking = null;
+		}
+	}
+
 	//scans a single 45 degree octant of the FOV.
 	//This can add up to a whole FOV by mirroring in X(mX), Y(mY), and X=Y(mXY)
 	private static void scanOctant(int distance, boolean[] fov, boolean[] blocking, int row,
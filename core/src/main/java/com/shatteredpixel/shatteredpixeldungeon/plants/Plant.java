@@ -85,7 +85,7 @@ public abstract class Plant implements Bundlable {
 		}
 
 		float seedChance = 0f;
-		for (Char c : Actor.chars()){
+		for (Char c : Actor.charsView()){
 			if (c instanceof WandOfRegrowth.Lotus){
 				WandOfRegrowth.Lotus l = (WandOfRegrowth.Lotus) c;
 				if (l.inRange(pos)){
@@ -33,7 +33,13 @@ import com.watabou.noosa.NoosaScript;
 import com.watabou.noosa.NoosaScriptNoLighting;
 import com.watabou.utils.Rect;
 
+import java.nio.Buffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 
 public class FogOfWar extends Image {
 
@@ -134,11 +140,19 @@ public class FogOfWar extends Image {
 	}
 	
 	public synchronized void updateFog(Rect update){
-		for (Rect r : toUpdate.toArray(new Rect[0])){
-			if (!r.intersect(update).isEmpty()){
-				toUpdate.remove(r);
-				toUpdate.add(r.union(update));
-				return;
+		//merges the update with every rect it overlaps, repeating as each merge can grow it
+		// into rects it didn't overlap before. This way no cell is ever updated twice.
+		boolean merged = true;
+		while (merged){
+			merged = false;
+			for (int i = 0; i < toUpdate.size(); i++){
+				Rect r = toUpdate.get(i);
+				if (!r.intersect(update).isEmpty()){
+					toUpdate.remove(i);
+					update = r.union(update);
+					merged = true;
+					break;
+				}
 			}
 		}
 		toUpdate.add(update);
@@ -171,6 +185,9 @@ public class FogOfWar extends Image {
 	private boolean[] visited;
 	private boolean[] mapped;
 	private int brightness;
+
+	//fog colours for one row of texture pixels, as RGBA
+	private int[] rowPixels;
 	
 	private void updateTexture( boolean[] visible, boolean[] visited, boolean[] mapped ) {
 		this.visible = visible;
@@ -179,109 +196,130 @@ public class FogOfWar extends Image {
 		this.brightness = SPDSettings.brightness() + 1;
 
 		moveToUpdating();
-		
-		boolean fullUpdate = false;
-		if (updating.size() == 1){
-			Rect update = updating.get(0);
-			if (update.height() == mapHeight && update.width() == mapWidth){
-				fullUpdate = true;
-			}
+
+		if (rowPixels == null){
+			rowPixels = new int[pWidth];
 		}
 
 		Pixmap fog = texture.bitmap;
-		fog.setBlending(Pixmap.Blending.None);
+		//the pixmap is written to directly, one row span at a time, rather than filling each cell
+		IntBuffer pixels = fog.getPixels().duplicate().order(ByteOrder.BIG_ENDIAN).asIntBuffer();
+
+		//rects don't overlap, so sorting them lets the rows they cover be uploaded in a few bands
+		Collections.sort(updating, new Comparator<Rect>() {
+			@Override
+			public int compare(Rect a, Rect b) {
+				return Integer.compare(a.top, b.top);
+			}
+		});
+
+		int bandTop = -1;
+		int bandBottom = -1;
 
-		int cell;
-		
 		for (Rect update : updating) {
-			for (int i = update.top; i < update.bottom; i++) {
-				cell = mapWidth * i + update.left;
-				for (int j = update.left; j < update.right; j++) {
-					
-					if (cell >= Dungeon.level.length()) continue; //do nothing
-					
-					if (!Dungeon.level.discoverable[cell]
-							|| (!visible[cell] && !visited[cell] && !mapped[cell])) {
-						//we skip filling cells here if it isn't a full update
-						// because they must already be dark
-						if (fullUpdate)
-							fillCell(fog, j, i, FOG_COLORS[INVISIBLE][brightness]);
-						cell++;
-						continue;
+			int left = Math.max(0, update.left);
+			int top = Math.max(0, update.top);
+			int right = Math.min(mapWidth, update.right);
+			int bottom = Math.min(update.bottom, Dungeon.level.length() / mapWidth);
+			if (left >= right || top >= bottom) continue;
+
+			for (int i = top; i < bottom; i++) {
+				int cell = mapWidth * i + left;
+				for (int j = left; j < right; j++) {
+					fillCellColors((j - left) * PIX_PER_TILE, cell);
+					cell++;
+				}
+
+				int spanLength = (right - left) * PIX_PER_TILE;
+				for (int y = i * PIX_PER_TILE; y < (i+1) * PIX_PER_TILE; y++){
+					((Buffer)pixels).position(y * width2 + left * PIX_PER_TILE);
+					pixels.put(rowPixels, 0, spanLength);
+				}
+			}
+
+			if (top * PIX_PER_TILE > bandBottom){
+				if (bandTop != -1) texture.bitmap(fog, bandTop, bandBottom);
+				bandTop = top * PIX_PER_TILE;
+			}
+			bandBottom = Math.max(bandBottom, bottom * PIX_PER_TILE);
+		}
+
+		if (bandTop != -1) texture.bitmap(fog, bandTop, bandBottom);
+
+	}
+
+	//sets the colours for a cell's pixels in rowPixels, starting at x
+	private void fillCellColors( int x, int cell ){
+
+		if (!Dungeon.level.discoverable[cell]
+				|| (!visible[cell] && !visited[cell] && !mapped[cell])) {
+			fillCell(x, FOG_COLORS[INVISIBLE][brightness]);
+			return;
+		}
+
+		//wall tiles
+		if (wall(cell)) {
+
+			//always dark if nothing is beneath them
+			if (cell + mapWidth >= mapLength) {
+				fillCell(x, FOG_COLORS[INVISIBLE][brightness]);
+
+			//internal wall tiles, need to check both the left and right side,
+			// to account for only one half of them being seen
+			} else if (wall(cell + mapWidth)) {
+
+				//left side
+				if (cell % mapWidth != 0) {
+
+					//picks the darkest fog between current tile, left, and below-left(if left is a wall).
+					if (wall(cell - 1)) {
+
+						//if below-left is also a wall, then we should be dark no matter what.
+						if (wall(cell + mapWidth - 1)) {
+							fillLeft(x, FOG_COLORS[INVISIBLE][brightness]);
+						} else {
+							fillLeft(x, FOG_COLORS[Math.max(getCellFog(cell), Math.max(getCellFog(cell + mapWidth - 1), getCellFog(cell - 1)))][brightness]);
+						}
+
+					} else {
+						fillLeft(x, FOG_COLORS[Math.max(getCellFog(cell), getCellFog(cell - 1))][brightness]);
 					}
-					
-					//wall tiles
-					if (wall(cell)) {
-						
-						//always dark if nothing is beneath them
-						if (cell + mapWidth >= mapLength) {
-							fillCell(fog, j, i, FOG_COLORS[INVISIBLE][brightness]);
-							
-						//internal wall tiles, need to check both the left and right side,
-						// to account for only one half of them being seen
-						} else if (wall(cell + mapWidth)) {
-							
-							//left side
-							if (cell % mapWidth != 0) {
-								
-								//picks the darkest fog between current tile, left, and below-left(if left is a wall).
-								if (wall(cell - 1)) {
-									
-									//if below-left is also a wall, then we should be dark no matter what.
-									if (wall(cell + mapWidth - 1)) {
-										fillLeft(fog, j, i, FOG_COLORS[INVISIBLE][brightness]);
-									} else {
-										fillLeft(fog, j, i, FOG_COLORS[Math.max(getCellFog(cell), Math.max(getCellFog(cell + mapWidth - 1), getCellFog(cell - 1)))][brightness]);
-									}
-									
-								} else {
-									fillLeft(fog, j, i, FOG_COLORS[Math.max(getCellFog(cell), getCellFog(cell - 1))][brightness]);
-								}
-								
-							} else {
-								fillLeft(fog, j, i, FOG_COLORS[INVISIBLE][brightness]);
-							}
-							
-							//right side
-							if ((cell + 1) % mapWidth != 0) {
-								
-								//picks the darkest fog between current tile, right, and below-right(if right is a wall).
-								if (wall(cell + 1)) {
-									
-									//if below-right is also a wall, then we should be dark no matter what.
-									if (wall(cell + mapWidth + 1)) {
-										fillRight(fog, j, i, FOG_COLORS[INVISIBLE][brightness]);
-									} else {
-										fillRight(fog, j, i, FOG_COLORS[Math.max(getCellFog(cell), Math.max(getCellFog(cell + mapWidth + 1), getCellFog(cell + 1)))][brightness]);
-									}
-									
-								} else {
-									fillRight(fog, j, i, FOG_COLORS[Math.max(getCellFog(cell), getCellFog(cell + 1))][brightness]);
-								}
-								
-							} else {
-								fillRight(fog, j, i, FOG_COLORS[INVISIBLE][brightness]);
-							}
-							
-						//camera-facing wall tiles
-						//darkest between themselves and the tile below them
+
+				} else {
+					fillLeft(x, FOG_COLORS[INVISIBLE][brightness]);
+				}
+
+				//right side
+				if ((cell + 1) % mapWidth != 0) {
+
+					//picks the darkest fog between current tile, right, and below-right(if right is a wall).
+					if (wall(cell + 1)) {
+
+						//if below-right is also a wall, then we should be dark no matter what.
+						if (wall(cell + mapWidth + 1)) {
+							fillRight(x, FOG_COLORS[INVISIBLE][brightness]);
 						} else {
-							fillCell(fog, j, i, FOG_COLORS[Math.max(getCellFog(cell), getCellFog(cell + mapWidth))][brightness]);
+							fillRight(x, FOG_COLORS[Math.max(getCellFog(cell), Math.max(getCellFog(cell + mapWidth + 1), getCellFog(cell + 1)))][brightness]);
 						}
-						
-					//other tiles, just their direct value
+
 					} else {
-						fillCell(fog, j, i, FOG_COLORS[getCellFog(cell)][brightness]);
+						fillRight(x, FOG_COLORS[Math.max(getCellFog(cell), getCellFog(cell + 1))][brightness]);
 					}
-					
-					cell++;
+
+				} else {
+					fillRight(x, FOG_COLORS[INVISIBLE][brightness]);
 				}
+
+			//camera-facing wall tiles
+			//darkest between themselves and the tile below them
+			} else {
+				fillCell(x, FOG_COLORS[Math.max(getCellFog(cell), getCellFog(cell + mapWidth))][brightness]);
 			}
-			
-		}
-		
-		texture.bitmap(fog);
 
+		//other tiles, just their direct value
+		} else {
+			fillCell(x, FOG_COLORS[getCellFog(cell)][brightness]);
+		}
 	}
 	
 	private boolean wall(int cell) {
@@ -301,19 +339,17 @@ public class FogOfWar extends Image {
 		}
 	}
 	
-	private void fillLeft( Pixmap fog, int x, int y, int color){
-		fog.setColor((color << 8) | (color >>> 24));
-		fog.fillRectangle(x * PIX_PER_TILE, y*PIX_PER_TILE, PIX_PER_TILE/2, PIX_PER_TILE);
+	//colours are converted from ARGB to RGBA here
+	private void fillLeft( int x, int color){
+		Arrays.fill(rowPixels, x, x + PIX_PER_TILE/2, (color << 8) | (color >>> 24));
 	}
 	
-	private void fillRight( Pixmap fog, int x, int y, int color){
-		fog.setColor((color << 8) | (color >>> 24));
-		fog.fillRectangle(x * PIX_PER_TILE + PIX_PER_TILE/2, y*PIX_PER_TILE, PIX_PER_TILE/2, PIX_PER_TILE);
+	private void fillRight( int x, int color){
+		Arrays.fill(rowPixels, x + PIX_PER_TILE/2, x + PIX_PER_TILE, (color << 8) | (color >>> 24));
 	}
 
-	private void fillCell( Pixmap fog, int x, int y, int color){
-		fog.setColor((color << 8) | (color >>> 24));
-		fog.fillRectangle(x * PIX_PER_TILE, y*PIX_PER_TILE, PIX_PER_TILE, PIX_PER_TILE);
+	private void fillCell( int x, int color){
+		Arrays.fill(rowPixels, x, x + PIX_PER_TILE, (color << 8) | (color >>> 24));
 	}
 
 	@Override
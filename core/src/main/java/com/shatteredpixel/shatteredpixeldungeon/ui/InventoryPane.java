@@ -403,7 +403,7 @@ public class InventoryPane extends Component {
 				instance.visible &&
 				lastTarget != null &&
 				targetingSlot != null &&
-				Actor.chars().contains( lastTarget ) &&
+				Actor.containsChar( lastTarget ) &&
 				lastTarget.isAlive() &&
 				lastTarget.alignment != Char.Alignment.ALLY &&
 				Dungeon.level.heroFOV[lastTarget.pos]) {
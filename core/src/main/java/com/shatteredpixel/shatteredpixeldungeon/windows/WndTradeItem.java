@@ -65,7 +65,7 @@ public class WndTradeItem extends WndInfoItem {
 
 		//find the shopkeeper in the current level
 		Shopkeeper shop = null;
-		for (Char ch : Actor.chars()){
+		for (Char ch : Actor.charsView()){
 			if (ch instanceof Shopkeeper){
 				shop = (Shopkeeper) ch;
 				break;
@@ -0,0 +1,123 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * Experienced Pixel Dungeon
+ * Copyright (C) 2019-2024 Trashbox Bobylev
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+
+package com.shatteredpixel.shatteredpixeldungeon;
+
+import com.watabou.utils.Random;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+//Checks that seeded runs still produce the same numbers as when Random was built on java.util.Random:
+// Dungeon.seedForDepth against the old push/draw/pop version, and every kind of draw from a seeded
+// Random.Generator against a java.util.Random with the same scrambled seed.
+//Run with: java -cp <core and SPD-classes classes and libs> com.shatteredpixel.shatteredpixeldungeon.SeedDeterminismCheck
+public class SeedDeterminismCheck {
+
+	private static final int SEEDS = 2_000;
+	private static final int DRAWS = 1_000;
+
+	public static void main( String[] args ){
+		java.util.Random seeds = new java.util.Random( 42 );
+		int checked = 0;
+
+		for (int s = 0; s < SEEDS; s++) {
+			long seed = s < 10 ? s : seeds.nextLong();
+
+			Dungeon.seed = seed;
+			for (int branch = 0; branch < 3; branch++) {
+				for (int depth = 1; depth <= 30; depth++) {
+					check( Dungeon.seedForDepth( depth, branch ) == oldSeedForDepth( seed, depth, branch ),
+							"seedForDepth differs for seed " + seed + ", depth " + depth + ", branch " + branch );
+					checked++;
+				}
+			}
+
+			Random.Generator generator = new Random.Generator( seed );
+			java.util.Random reference = new java.util.Random( scrambleSeed( seed ) );
+			for (int i = 0; i < DRAWS; i++) {
+				int bound = 1 + (i * 7919) % 1000;
+				check( generator.nextInt() == reference.nextInt(), "nextInt differs for seed " + seed );
+				check( generator.nextInt( bound ) == reference.nextInt( bound ), "nextInt(bound) differs for seed " + seed );
+				check( generator.nextLong() == reference.nextLong(), "nextLong differs for seed " + seed );
+				check( generator.nextFloat() == reference.nextFloat(), "nextFloat differs for seed " + seed );
+				check( generator.nextDouble() == reference.nextDouble(), "nextDouble differs for seed " + seed );
+				check( generator.nextBoolean() == reference.nextBoolean(), "nextBoolean differs for seed " + seed );
+				check( generator.nextGaussian() == reference.nextGaussian(), "nextGaussian differs for seed " + seed );
+				checked += 7;
+			}
+
+			ArrayList<Integer> shuffled = new ArrayList<>();
+			ArrayList<Integer> shuffledReference = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				shuffled.add( i );
+				shuffledReference.add( i );
+			}
+			generator.shuffle( shuffled );
+			Collections.shuffle( shuffledReference, reference );
+			check( shuffled.equals( shuffledReference ), "shuffle differs for seed " + seed );
+			checked++;
+
+			//the global stack should give the same numbers as a generator held directly
+			Random.pushGenerator( seed );
+			Random.Generator held = new Random.Generator( seed );
+			for (int i = 0; i < 100; i++) {
+				check( Random.Long() == held.Long(), "pushGenerator differs for seed " + seed );
+				checked++;
+			}
+			Random.popGenerator();
+		}
+
+		System.out.println( "seeds: " + SEEDS + ", values checked: " + checked + ", all match" );
+	}
+
+	//how Dungeon.seedForDepth worked before it had its own generator
+	private static long oldSeedForDepth( long seed, int depth, int branch ){
+		java.util.Random random = new java.util.Random( scrambleSeed( seed ) );
+		int lookAhead = depth + 30*branch;
+		for (int i = 0; i < lookAhead; i++) {
+			random.nextLong();
+		}
+		return random.nextLong();
+	}
+
+	//a copy of Random.scrambleSeed, which is private
+	private static long scrambleSeed( long seed ){
+		seed ^= seed >>> 32;
+		seed *= 0xbea225f9eb34556dL;
+		seed ^= seed >>> 29;
+		seed *= 0xbea225f9eb34556dL;
+		seed ^= seed >>> 32;
+		seed *= 0xbea225f9eb34556dL;
+		seed ^= seed >>> 29;
+		return seed;
+	}
+
+	private static void check( boolean condition, String message ){
+		if (!condition) {
+			throw new IllegalStateException( message );
+		}
+	}
+}
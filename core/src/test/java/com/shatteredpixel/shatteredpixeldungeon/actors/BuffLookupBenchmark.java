@@ -0,0 +1,188 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * Experienced Pixel Dungeon
+ * Copyright (C) 2019-2024 Trashbox Bobylev
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package com.shatteredpixel.shatteredpixeldungeon.actors;
+
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Adrenaline;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Amok;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.ArtifactRecharge;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Awareness;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Barkskin;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Barrier;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Berserk;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Bleeding;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Bless;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Blindness;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Buff;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.ChampionEnemy;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Chill;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Combo;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Corrosion;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Cripple;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Daze;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Doom;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Dread;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Drowsy;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.FireImbue;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Foresight;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.FrostImbue;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Fury;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Haste;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Hex;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Invisibility;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Levitation;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.LifeLink;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Light;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.MagicImmune;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.MagicalSight;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.MindVision;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Momentum;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Ooze;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Poison;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Preparation;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Recharging;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Roots;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Shadows;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.ShieldBuff;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Slow;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Speed;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Stamina;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Terror;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Vertigo;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Vulnerable;
+import com.shatteredpixel.shatteredpixeldungeon.actors.buffs.Weakness;
+
+import com.watabou.utils.Reflection;
+
+import java.util.HashSet;
+import java.util.List;
+
+//Times the buff lookups a combat turn makes on a char with 36 buffs, through Char's class index
+// and through a scan of every buff, which is how Char.buff and Char.buffs used to work.
+//Run with: java -cp <core and SPD-classes classes and libs> com.shatteredpixel.shatteredpixeldungeon.actors.BuffLookupBenchmark
+public class BuffLookupBenchmark {
+
+	private static final int TURNS = 200_000;
+
+	//held by the char
+	private static final Class<? extends Buff>[] HELD = classes(
+			Bless.class, Haste.class, Adrenaline.class, Barkskin.class, Blindness.class, Cripple.class,
+			Daze.class, Hex.class, Invisibility.class, Levitation.class, Light.class, MindVision.class,
+			Roots.class, Slow.class, Speed.class, Stamina.class, Terror.class, Vertigo.class,
+			Vulnerable.class, Weakness.class, Awareness.class, Foresight.class, Chill.class, Dread.class,
+			Drowsy.class, Amok.class, Ooze.class, Poison.class, Bleeding.class, MagicalSight.class,
+			Shadows.class, Recharging.class, ArtifactRecharge.class, Barrier.class, Corrosion.class, Doom.class
+	);
+
+	//checked with buff() each turn, some held and some not, roughly what attack and defense procs look for
+	private static final Class<? extends Buff>[] CHECKED = classes(
+			Bless.class, Hex.class, Weakness.class, Vulnerable.class, Daze.class, Invisibility.class,
+			Berserk.class, Combo.class, Momentum.class, Fury.class, Preparation.class, FireImbue.class,
+			FrostImbue.class, MagicImmune.class, Adrenaline.class, Haste.class, Amok.class, Terror.class
+	);
+
+	//checked with buffs() each turn
+	private static final Class<? extends Buff>[] COLLECTED = classes(
+			ChampionEnemy.class, ShieldBuff.class, LifeLink.class
+	);
+
+	@SafeVarargs
+	private static Class<? extends Buff>[] classes( Class<? extends Buff>... classes ){
+		return classes;
+	}
+
+	private static class Dummy extends Char {
+	}
+
+	public static void main( String[] args ){
+		Char ch = new Dummy();
+		for (Class<? extends Buff> c : HELD) {
+			ch.add( Reflection.newInstance( c ) );
+		}
+
+		//warm-up round first, so the timed rounds run compiled code
+		run( ch, false );
+		run( ch, true );
+	}
+
+	private static void run( Char ch, boolean print ){
+		int found = 0;
+
+		long start = System.nanoTime();
+		for (int t = 0; t < TURNS; t++) {
+			for (Class<? extends Buff> c : CHECKED) {
+				if (ch.buff( c ) != null) found++;
+			}
+			for (Class<? extends Buff> c : COLLECTED) {
+				found += ch.buffs( c ).size();
+			}
+		}
+		long indexTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int t = 0; t < TURNS; t++) {
+			for (Class<? extends Buff> c : CHECKED) {
+				if (scanBuff( ch, c ) != null) found--;
+			}
+			for (Class<? extends Buff> c : COLLECTED) {
+				found -= scanBuffs( ch, c ).size();
+			}
+		}
+		long scanTime = System.nanoTime() - start;
+
+		if (found != 0) {
+			throw new IllegalStateException( "index and scan found different buffs" );
+		}
+
+		if (print) {
+			System.out.println( "buffs held: " + HELD.length + ", turns: " + TURNS );
+			System.out.println( "indexed: " + indexTime / TURNS + " ns/turn" );
+			System.out.println( "scanned: " + scanTime / TURNS + " ns/turn" );
+		}
+	}
+
+	private static Buff scanBuff( Char ch, Class<? extends Buff> c ){
+		synchronized (ch) {
+			for (Buff b : ch.buffsView()) {
+				if (b.getClass() == c) {
+					return b;
+				}
+			}
+			return null;
+		}
+	}
+
+	private static HashSet<Buff> scanBuffs( Char ch, Class<? extends Buff> c ){
+		synchronized (ch) {
+			HashSet<Buff> filtered = new HashSet<>();
+			List<Buff> buffs = ch.buffsView();
+			for (Buff b : buffs) {
+				if (c.isInstance( b )) {
+					filtered.add( b );
+				}
+			}
+			return filtered;
+		}
+	}
+}
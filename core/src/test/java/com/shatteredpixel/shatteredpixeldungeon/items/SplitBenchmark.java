@@ -0,0 +1,82 @@
+/*
+ * Pixel Dungeon
+ * Copyright (C) 2012-2015 Oleg Dolya
+ *
+ * Shattered Pixel Dungeon
+ * Copyright (C) 2014-2024 Evan Debenham
+ *
+ * Experienced Pixel Dungeon
+ * Copyright (C) 2019-2024 Trashbox Bobylev
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+
+package com.shatteredpixel.shatteredpixeldungeon.items;
+
+import com.shatteredpixel.shatteredpixeldungeon.items.potions.PotionOfHealing;
+import com.shatteredpixel.shatteredpixeldungeon.items.scrolls.ScrollOfUpgrade;
+import com.shatteredpixel.shatteredpixeldungeon.items.weapon.missiles.ThrowingKnife;
+import com.shatteredpixel.shatteredpixeldungeon.items.weapon.missiles.darts.Dart;
+import com.watabou.utils.Bundle;
+import com.watabou.utils.Reflection;
+
+//Times splitting one item off large stacks of thrown weapons and consumables, through Item.split,
+// and through a bundle round trip, which is how split used to copy an item.
+//Run with: java -cp <core and SPD-classes classes and libs> com.shatteredpixel.shatteredpixeldungeon.items.SplitBenchmark
+public class SplitBenchmark {
+
+	private static final int SPLITS = 100_000;
+
+	public static void main( String[] args ){
+		Item[] items = new Item[]{ new Dart(), new ThrowingKnife(), new PotionOfHealing(), new ScrollOfUpgrade() };
+
+		//warm-up round first, so the timed rounds run compiled code
+		for (Item item : items) run( item, false );
+		for (Item item : items) run( item, true );
+	}
+
+	private static void run( Item item, boolean print ){
+		item.quantity( 2L * SPLITS + 1 );
+
+		long start = System.nanoTime();
+		for (int i = 0; i < SPLITS; i++) {
+			if (item.split( 1 ) == null) {
+				throw new IllegalStateException( "could not split " + item.getClass().getSimpleName() );
+			}
+		}
+		long splitTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < SPLITS; i++) {
+			Item copy = Reflection.newInstance( item.getClass() );
+			Bundle bundle = new Bundle();
+			item.storeInBundle( bundle );
+			copy.restoreFromBundle( bundle );
+			copy.quantity( 1 );
+			item.quantity( item.quantity() - 1 );
+		}
+		long bundleTime = System.nanoTime() - start;
+
+		if (print) {
+			System.out.println( item.getClass().getSimpleName() + ": "
+					+ perSecond( splitTime ) + " splits/s, "
+					+ perSecond( bundleTime ) + " through a bundle" );
+		}
+	}
+
+	private static long perSecond( long total ){
+		return SPLITS * 1_000_000_000L / Math.max( total, 1 );
+	}
+}